@@ -1,5 +1,6 @@
 plugins {
     id("java")
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "org.example"
@@ -16,13 +17,28 @@ repositories {
 }
 
 dependencies {
+    implementation("net.bytebuddy:byte-buddy:1.17.8")
+
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
     testImplementation("org.assertj:assertj-core:3.27.6")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
-    testImplementation("net.bytebuddy:byte-buddy:1.17.8")
+
+    testAnnotationProcessor(sourceSets.main.get().output)
+}
+
+tasks.withType<JavaCompile> {
+    options.encoding = "UTF-8"
 }
 
 tasks.test {
     useJUnitPlatform()
+    systemProperty("org.example.generator.scanCache", layout.buildDirectory.file("generator-scan.cache").get().asFile.path)
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    // fixtures of the generation benchmarks are the test classes
+    includeTests.set(true)
+    profilers.add("gc")
 }
\ No newline at end of file
@@ -0,0 +1,107 @@
+package org.example.generator;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.example.classes.BinaryTreeNode;
+import org.example.classes.Cart;
+import org.example.classes.Shape;
+import org.example.classes.TestEnum;
+import org.example.generator.access.AccessBackend;
+import org.example.generator.type.impl.PrimitiveGeneratorsProvider;
+import org.example.generator.type.impl.StringGeneratorsProvider;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Steady-state cost of {@link Generator#generateValueOfType(Class)} for every kind of plan, with the test classes as
+ * fixtures. Run with the gc profiler (the build adds it) to see bytes allocated per generated value next to the
+ * times.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenerationBenchmark {
+
+    private static final Map<String, Class<?>> TYPES = Map.of(
+            "int", int.class,
+            "double", double.class,
+            "String", String.class,
+            "TestEnum", TestEnum.class,
+            "int[]", int[].class,
+            "String[]", String[].class,
+            "int[][]", int[][].class,
+            "Cart", Cart.class,
+            "Shape", Shape.class
+    );
+
+    private static Generator newGenerator(int maxDepth, AccessBackend backend, boolean staticGenerators) {
+        var options = GeneratorOptions.defaults()
+                .withAccessBackend(backend)
+                .withStaticGenerators(staticGenerators)
+                .withSeed(42);
+
+        return new Generator(
+                List.of(new PrimitiveGeneratorsProvider(), new StringGeneratorsProvider(15)),
+                maxDepth,
+                TestEnum.ONE,
+                options
+        );
+    }
+
+    @State(Scope.Benchmark)
+    public static class Types {
+
+        @Param({"int", "double", "String", "TestEnum", "int[]", "String[]", "int[][]", "Cart", "Shape"})
+        public String type;
+
+        @Param
+        public AccessBackend backend;
+
+        @Param({"true", "false"})
+        public boolean staticGenerators;
+
+        private Generator generator;
+        private Class<?> clazz;
+
+        @Setup
+        public void setUp() {
+            generator = newGenerator(5, backend, staticGenerators);
+            clazz = TYPES.get(type);
+        }
+    }
+
+    /**
+     * Trees are cut at the depth limit, so the depth sets the size of the value.
+     */
+    @State(Scope.Benchmark)
+    public static class Trees {
+
+        @Param({"2", "4", "8"})
+        public int maxDepth;
+
+        @Param
+        public AccessBackend backend;
+
+        @Param({"true", "false"})
+        public boolean staticGenerators;
+
+        private Generator generator;
+
+        @Setup
+        public void setUp() {
+            generator = newGenerator(maxDepth, backend, staticGenerators);
+        }
+    }
+
+    @Benchmark
+    public Object generate(Types types) throws Exception {
+        return types.generator.generateValueOfType(types.clazz);
+    }
+
+    @Benchmark
+    public Object generateTree(Trees trees) throws Exception {
+        return trees.generator.generateValueOfType(BinaryTreeNode.class);
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.generator;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.example.generator.type.impl.PrimitiveGeneratorsProvider;
+import org.example.generator.type.impl.StringGeneratorsProvider;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Cold start of a short-lived process: constructing a {@link Generator} over a package of {@link SyntheticPackage}
+ * classes, and constructing it followed by the first value of a type. Every measurement is the first call in a
+ * fresh JVM, so class loading, package scanning and plan compilation are all included; the spread comes from the
+ * number of forks.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int classes;
+
+    private Path directory;
+    private URLClassLoader classLoader;
+    private Object marker;
+
+    @State(Scope.Benchmark)
+    public static class FirstValue {
+
+        /**
+         * {@code class} is a synthetic class, {@code interface} the one half of the classes implement.
+         */
+        @Param({"String", "class", "interface"})
+        public String type;
+
+        private String typeName;
+
+        @Setup(Level.Trial)
+        public void resolve() {
+            typeName = switch (type) {
+                case "String" -> String.class.getName();
+                case "class" -> SyntheticPackage.className(0);
+                case "interface" -> SyntheticPackage.NODE;
+                default -> throw new IllegalArgumentException("Unknown type: " + type);
+            };
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void writeClasses() throws Exception {
+        directory = SyntheticPackage.write(classes);
+        classLoader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, getClass().getClassLoader());
+        marker = classLoader.loadClass(SyntheticPackage.MARKER).getConstructor().newInstance();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteClasses() throws IOException {
+        classLoader.close();
+        SyntheticPackage.delete(directory);
+    }
+
+    private Generator newGenerator() {
+        return new Generator(
+                List.of(new PrimitiveGeneratorsProvider(), new StringGeneratorsProvider(15)),
+                3,
+                marker
+        );
+    }
+
+    @Benchmark
+    public Object construct() {
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try {
+            return newGenerator();
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    @Benchmark
+    public Object constructAndGenerateFirst(FirstValue firstValue) throws Exception {
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try {
+            return newGenerator().generateValueOfType(Class.forName(firstValue.typeName, false, classLoader));
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.generator;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+
+/**
+ * Writes a package of generated classes to a directory, for benchmarks that need more classes than the test
+ * fixtures have. Three of four classes are {@code @Generatable}, half of those implement the {@link #NODE}
+ * interface, every class has primitive and {@link String} fields and a field of the interface type.
+ */
+final class SyntheticPackage {
+
+    static final String PACKAGE = "org.example.synthetic";
+    static final String NODE = PACKAGE + ".Node";
+    /**
+     * Class to pass as the package marker, it is not used by any other class.
+     */
+    static final String MARKER = PACKAGE + ".Marker";
+
+    private SyntheticPackage() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    static String className(int i) {
+        return PACKAGE + ".C" + i;
+    }
+
+    /**
+     * @param classes number of classes besides the interface and the marker
+     * @return the directory to put on the classpath
+     */
+    static Path write(int classes) throws IOException {
+        Path directory = Files.createTempDirectory("synthetic-package");
+        ByteBuddy byteBuddy = new ByteBuddy();
+        AnnotationDescription generatable = AnnotationDescription.Builder.ofType(Generatable.class).build();
+
+        TypeDescription node;
+        try (DynamicType.Unloaded<?> type = byteBuddy.makeInterface().name(NODE).annotateType(generatable).make()) {
+            type.saveIn(directory.toFile());
+            node = type.getTypeDescription();
+        }
+        try (DynamicType.Unloaded<?> type = byteBuddy.subclass(Object.class).name(MARKER).make()) {
+            type.saveIn(directory.toFile());
+        }
+
+        for (int i = 0; i < classes; i++) {
+            DynamicType.Builder<Object> builder = byteBuddy.subclass(Object.class)
+                    .name(className(i))
+                    .modifiers(Modifier.PUBLIC)
+                    .defineField("id", int.class, Modifier.PUBLIC)
+                    .defineField("created", long.class, Modifier.PUBLIC)
+                    .defineField("name", String.class, Modifier.PUBLIC)
+                    .defineField("next", node, Modifier.PUBLIC);
+            if (i % 4 != 3) {
+                builder = builder.annotateType(generatable);
+            }
+            if (i % 2 == 0) {
+                builder = builder.implement(node);
+            }
+
+            try (DynamicType.Unloaded<?> type = builder.make()) {
+                type.saveIn(directory.toFile());
+            }
+        }
+
+        return directory;
+    }
+
+    static void delete(Path directory) throws IOException {
+        try (var files = Files.walk(directory)) {
+            for (Path path : files.sorted(Collections.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package org.example.generator.scan;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import org.example.generator.Generatable;
+import org.example.generator.PackageUtils;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Startup cost of finding {@code @Generatable} classes on a classpath of many jars. Every jar holds a few classes
+ * of the scanned package and many unrelated ones, like a fat jar does. A fresh class loader is used for every
+ * iteration, so the load-everything baseline is not flattered by already loaded classes.
+ * {@code findGeneratableClasses} scans with an empty {@link ScanCache} every time, while
+ * {@code findGeneratableClassesCached} shares one across the trial, so only its first invocation scans.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PackageScanBenchmark {
+
+    private static final String PACKAGE = "org.example.bench";
+
+    @Param({"1", "16", "64"})
+    public int jars;
+
+    @Param({"20"})
+    public int classesInPackagePerJar;
+
+    @Param({"500"})
+    public int otherClassesPerJar;
+
+    private Path directory;
+    private URL[] urls;
+    private URLClassLoader classLoader;
+    private List<URL> packageResources;
+    private ScanCache cache;
+
+    @Setup(Level.Trial)
+    public void writeJars() throws IOException {
+        directory = Files.createTempDirectory("package-scan-benchmark");
+        ByteBuddy byteBuddy = new ByteBuddy();
+        AnnotationDescription generatable = AnnotationDescription.Builder.ofType(Generatable.class).build();
+
+        urls = new URL[jars];
+        for (int jar = 0; jar < jars; jar++) {
+            Path path = directory.resolve("lib" + jar + ".jar");
+            try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(path))) {
+                Set<String> directories = new HashSet<>();
+                for (int i = 0; i < otherClassesPerJar; i++) {
+                    write(output, directories, byteBuddy.subclass(Object.class).name("com.other.p" + jar + ".C" + i).make());
+                }
+                for (int i = 0; i < classesInPackagePerJar; i++) {
+                    DynamicType.Builder<Object> builder = byteBuddy.subclass(Object.class)
+                            .name(PACKAGE + ".j" + jar + ".C" + i);
+                    if (i % 2 == 0) {
+                        builder = builder.annotateType(generatable);
+                    }
+                    write(output, directories, builder.make());
+                }
+            }
+            urls[jar] = path.toUri().toURL();
+        }
+        cache = new ScanCache(null);
+    }
+
+    private static void write(
+            JarOutputStream output,
+            Set<String> directories,
+            DynamicType.Unloaded<?> type
+    ) throws IOException {
+        try (type) {
+            String name = type.getTypeDescription().getInternalName();
+            for (int slash = name.indexOf('/'); slash >= 0; slash = name.indexOf('/', slash + 1)) {
+                String directory = name.substring(0, slash + 1);
+                if (directories.add(directory)) {
+                    output.putNextEntry(new JarEntry(directory));
+                    output.closeEntry();
+                }
+            }
+            output.putNextEntry(new JarEntry(name + ".class"));
+            output.write(type.getBytes());
+            output.closeEntry();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void newClassLoader() throws IOException {
+        classLoader = new URLClassLoader(urls, getClass().getClassLoader());
+        packageResources = Collections.list(classLoader.getResources(PACKAGE.replace('.', '/')));
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeClassLoader() throws IOException {
+        classLoader.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteJars() throws IOException {
+        try (var files = Files.walk(directory)) {
+            for (Path path : files.sorted(Collections.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public Object loadEveryClass() throws Exception {
+        return PackageUtils.getClassesInPackage(PACKAGE, classLoader);
+    }
+
+    @Benchmark
+    public Object parseSequentially() throws Exception {
+        List<ClassFileInfo> result = new ArrayList<>();
+        for (URL resource : packageResources) {
+            result.addAll(ClassFileScanner.scan(resource, PACKAGE));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Object parseInParallel() throws Exception {
+        return ClassFileScanner.scanParallel(packageResources, PACKAGE, ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public Object findGeneratableClasses() throws Exception {
+        return PackageUtils.getGeneratableClassesInPackage(PACKAGE, classLoader, new ScanCache(null));
+    }
+
+    @Benchmark
+    public Object findGeneratableClassesCached() throws Exception {
+        return PackageUtils.getGeneratableClassesInPackage(PACKAGE, classLoader, cache);
+    }
+}
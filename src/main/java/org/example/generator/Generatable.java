@@ -8,4 +8,15 @@ import java.lang.annotation.Target;
 @Target({ElementType.TYPE})
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Generatable {
+
+    /**
+     * Relative chance of this class being picked among the implementations of an interface it is generated for.
+     */
+    double weight() default 1.0;
+
+    /**
+     * Allocate instances without running any constructor of the class and generate all of its fields, final ones
+     * included. Meant for classes whose constructors validate or have side effects; records are not supported.
+     */
+    boolean bypassConstructors() default false;
 }
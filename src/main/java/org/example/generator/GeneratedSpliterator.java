@@ -0,0 +1,82 @@
+package org.example.generator;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+/**
+ * Source of {@link Generator#stream} streams. Each split takes half of the remaining range and a random stream
+ * split off the current one, so splits can run on different threads.
+ */
+final class GeneratedSpliterator<T> implements Spliterator<T> {
+
+    private final Function<RandomGenerator, T> element;
+    private final RandomGenerator.SplittableGenerator random;
+    private long index;
+    private final long fence;
+    private final boolean sized;
+
+    GeneratedSpliterator(
+            Function<RandomGenerator, T> element,
+            RandomGenerator.SplittableGenerator random,
+            long index,
+            long fence,
+            boolean sized
+    ) {
+        this.element = element;
+        this.random = random;
+        this.index = index;
+        this.fence = fence;
+        this.sized = sized;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (index >= fence) {
+            return false;
+        }
+        if (sized) {
+            index++;
+        }
+        action.accept(element.apply(random));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        if (!sized) {
+            while (true) {
+                action.accept(element.apply(random));
+            }
+        }
+
+        long end = fence;
+        for (long i = index; i < end; i++) {
+            action.accept(element.apply(random));
+        }
+        index = end;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        long middle = index + (fence - index) / 2;
+        if (middle <= index) {
+            return null;
+        }
+
+        GeneratedSpliterator<T> prefix = new GeneratedSpliterator<>(element, random.split(), index, middle, sized);
+        index = middle;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return sized ? SIZED | SUBSIZED | IMMUTABLE : IMMUTABLE;
+    }
+}
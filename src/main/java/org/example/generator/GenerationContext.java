@@ -0,0 +1,45 @@
+package org.example.generator;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+
+/**
+ * Callbacks into {@link Generator} used by {@link StaticGenerator}s. Depth semantics are the same as for reflective
+ * generation: constructor arguments and fields are generated at {@code depth + 1}, interface implementations at
+ * the depth of the interface.
+ */
+public interface GenerationContext {
+
+    Object generate(
+            Class<?> type,
+            int depth
+    ) throws InvocationTargetException, InstantiationException, IllegalAccessException, GenerationException;
+
+    /**
+     * @param elementType {@code null} if the collection is left empty
+     * @param depth       depth of the field holding the collection, elements are generated one level deeper
+     */
+    Object generateCollection(
+            Class<?> collectionType,
+            Class<?> elementType,
+            int depth
+    ) throws InvocationTargetException, InstantiationException, IllegalAccessException, GenerationException;
+
+    /**
+     * @param keyType   {@code null} if the map is left empty
+     * @param valueType {@code null} if the map is left empty
+     * @param depth     depth of the field holding the map, entries are generated one level deeper
+     */
+    Object generateMap(
+            Class<?> mapType,
+            Class<?> keyType,
+            Class<?> valueType,
+            int depth
+    ) throws InvocationTargetException, InstantiationException, IllegalAccessException, GenerationException;
+
+    Object generateImplementation(
+            Class<?> interfaceType,
+            List<Class<?>> implementations,
+            int depth
+    ) throws InvocationTargetException, InstantiationException, IllegalAccessException, GenerationException;
+}
@@ -4,4 +4,8 @@ public class GenerationException extends Exception {
     public GenerationException(String message) {
         super(message);
     }
+
+    public GenerationException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
@@ -0,0 +1,47 @@
+package org.example.generator;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * Observes a {@link Generator}, set with {@link GeneratorOptions#withListener(GenerationListener)}. Methods are
+ * called on the generating threads, possibly several at once, and in the middle of generation: they should be
+ * quick and must not throw. Without a listener the generator only checks a field for {@code null}.
+ * <p>
+ * Every value of a type is reported by {@link #onEnter} followed by either {@link #onExit} or {@link #onFailure};
+ * values of nested types are reported in between.
+ */
+public interface GenerationListener {
+
+    default void onEnter(Class<?> type, int depth) {
+    }
+
+    /**
+     * @param nanos time spent on the value, nested values included
+     */
+    default void onExit(Class<?> type, int depth, long nanos) {
+    }
+
+    default void onFailure(Class<?> type, int depth, Throwable failure) {
+    }
+
+    /**
+     * A value is {@code null} because it is deeper than the maximum depth, it is not entered.
+     */
+    default void onDepthCutoff(Class<?> type, int depth) {
+    }
+
+    /**
+     * @param constructor {@code null} when instances of the type are allocated without one
+     */
+    default void onConstructorChosen(Class<?> type, Constructor<?> constructor) {
+    }
+
+    /**
+     * A constructor failed and the next one is tried, the failure of the last one is reported by {@link #onFailure}.
+     */
+    default void onConstructorFailed(Class<?> type, Constructor<?> constructor, Throwable failure) {
+    }
+
+    default void onInterfaceResolved(Class<?> interfaceType, Class<?> implementation) {
+    }
+}
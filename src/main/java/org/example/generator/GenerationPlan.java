@@ -0,0 +1,145 @@
+package org.example.generator;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+import org.example.generator.access.FieldWriter;
+import org.example.generator.access.InstanceFactory;
+import org.example.generator.type.PrimitiveGenerator;
+
+/**
+ * Immutable description of how values of a single class are generated.
+ * Plans are compiled once per class by {@link GenerationPlanCompiler} and then only executed by {@link Generator}.
+ */
+sealed interface GenerationPlan {
+
+    /**
+     * @param reason why values of the class cannot be generated, the message of the failure
+     */
+    record NotGeneratable(String reason) implements GenerationPlan {
+    }
+
+    record Simple(Function<RandomGenerator, ?> generator) implements GenerationPlan {
+    }
+
+    record EnumConstants(Class<?> enumClass, Object[] constants) implements GenerationPlan {
+    }
+
+    record ArrayOf(Class<?> componentType) implements GenerationPlan {
+    }
+
+    record PrimitiveArrayOf(Class<?> componentType, PrimitiveGenerator generator) implements GenerationPlan {
+    }
+
+    record CollectionOf(Supplier<Collection<Object>> factory) implements GenerationPlan {
+    }
+
+    record MapOf(Supplier<Map<Object, Object>> factory) implements GenerationPlan {
+    }
+
+    /**
+     * @param implementations empty if there is nothing to generate, the lookup is not repeated then
+     */
+    record InterfaceType(Class<?> interfaceClass, ImplementationChooser implementations) implements GenerationPlan {
+    }
+
+    record Precompiled(StaticGenerator<?> generator) implements GenerationPlan {
+    }
+
+    /**
+     * @param constructors         constructors that can be called with generated arguments, never empty
+     * @param fields               all fields generated as independent parts of the value
+     * @param primitiveFields      all fields drawn straight from the stream of the value after the others
+     * @param rejectedConstructors constructors that are not tried, with the reason
+     */
+    record CommonClass(
+            Class<?> type,
+            List<ConstructorPlan> constructors,
+            List<FieldPlan> fields,
+            List<PrimitiveField> primitiveFields,
+            List<RejectedConstructor> rejectedConstructors
+    ) implements GenerationPlan {
+    }
+
+    record RejectedConstructor(Constructor<?> constructor, String reason) {
+    }
+
+    /**
+     * @param constructor     {@code null} if instances are allocated without running a constructor
+     * @param fields          the fields of the class left to generate once the constructor ran, without the ones it
+     *                        assigns from its parameters
+     * @param primitiveFields the same for primitive fields
+     */
+    record ConstructorPlan(
+            Constructor<?> constructor,
+            Class<?>[] parameterTypes,
+            List<ParameterPlan> parameters,
+            InstanceFactory factory,
+            List<FieldPlan> fields,
+            List<PrimitiveField> primitiveFields
+    ) {
+    }
+
+    /**
+     * Constructor parameters are generated like fields of the same declared type.
+     */
+    sealed interface ParameterPlan {
+    }
+
+    record ValueParameter(Class<?> type) implements ParameterPlan {
+    }
+
+    record CollectionParameter(Supplier<Collection<Object>> factory, Class<?> elementType) implements ParameterPlan {
+    }
+
+    record MapParameter(
+            Supplier<Map<Object, Object>> factory,
+            Class<?> keyType,
+            Class<?> valueType
+    ) implements ParameterPlan {
+    }
+
+    sealed interface FieldPlan {
+        Field field();
+
+        FieldWriter writer();
+    }
+
+    record ValueField(Field field, FieldWriter writer, Class<?> type) implements FieldPlan {
+    }
+
+    /**
+     * Written through the primitive setter of the writer, never boxed.
+     */
+    record PrimitiveField(Field field, FieldWriter writer, PrimitiveGenerator generator) implements FieldPlan {
+    }
+
+    /**
+     * @param elementType {@code null} when the element type is not a plain class, the collection is left empty then
+     */
+    record CollectionField(
+            Field field,
+            FieldWriter writer,
+            Supplier<Collection<Object>> factory,
+            Class<?> elementType
+    ) implements FieldPlan {
+    }
+
+    /**
+     * @param keyType   {@code null} when the key or value type is not a plain class, the map is left empty then
+     * @param valueType {@code null} when the key or value type is not a plain class, the map is left empty then
+     */
+    record MapField(
+            Field field,
+            FieldWriter writer,
+            Supplier<Map<Object, Object>> factory,
+            Class<?> keyType,
+            Class<?> valueType
+    ) implements FieldPlan {
+    }
+}
@@ -0,0 +1,455 @@
+package org.example.generator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+import org.example.generator.GenerationPlan.*;
+import org.example.generator.access.AccessStrategy;
+import org.example.generator.access.ConstructorBypass;
+import org.example.generator.access.FieldWriter;
+import org.example.generator.access.ReflectionAccessStrategy;
+import org.example.generator.scan.ClassFileParser;
+import org.example.generator.type.PrimitiveGenerator;
+
+final class GenerationPlanCompiler {
+
+    /**
+     * Writes final fields of classes allocated without a constructor.
+     */
+    private final AccessStrategy finalFieldStrategy = new ReflectionAccessStrategy();
+
+    private final Map<Class<?>, Function<RandomGenerator, ?>> generators;
+    private final Map<Class<?>, PrimitiveGenerator> primitiveGenerators;
+    private final AccessStrategy accessStrategy;
+    private final boolean staticGenerators;
+    private final Map<Class<?>, ImplementationChooser> implementations;
+
+    /**
+     * @param primitiveGenerators unboxed generators for primitive fields and arrays
+     * @param implementations     choosers of all interfaces that have generatable implementations
+     */
+    GenerationPlanCompiler(
+            Map<Class<?>, Function<RandomGenerator, ?>> generators,
+            Map<Class<?>, PrimitiveGenerator> primitiveGenerators,
+            AccessStrategy accessStrategy,
+            boolean staticGenerators,
+            Map<Class<?>, ImplementationChooser> implementations
+    ) {
+        this.generators = generators;
+        this.primitiveGenerators = primitiveGenerators;
+        this.accessStrategy = accessStrategy;
+        this.staticGenerators = staticGenerators;
+        this.implementations = implementations;
+    }
+
+    GenerationPlan compile(Class<?> clazz) {
+        if (!canBeGenerated(clazz)) {
+            return new NotGeneratable(
+                    "Class is not annotated with @" + Generatable.class.getSimpleName() + " and not a simple type"
+            );
+        }
+
+        if (generators.containsKey(clazz)) {
+            return new Simple(generators.get(clazz));
+        }
+
+        if (primitiveGenerators.containsKey(clazz)) {
+            return new Simple(primitiveGenerators.get(clazz)::generateBoxed);
+        }
+
+        if (clazz.isEnum()) {
+            return new EnumConstants(clazz, clazz.getEnumConstants());
+        }
+
+        if (clazz.isArray()) {
+            PrimitiveGenerator primitiveGenerator = primitiveGenerators.get(clazz.getComponentType());
+            if (primitiveGenerator != null) {
+                return new PrimitiveArrayOf(clazz.getComponentType(), primitiveGenerator);
+            }
+            return new ArrayOf(clazz.getComponentType());
+        }
+
+        if (Collection.class.isAssignableFrom(clazz)) {
+            return new CollectionOf(collectionFactory(clazz));
+        }
+
+        if (Map.class.isAssignableFrom(clazz)) {
+            return new MapOf(mapFactory(clazz));
+        }
+
+        if (staticGenerators) {
+            Optional<StaticGenerator<?>> staticGenerator = findStaticGenerator(clazz);
+            if (staticGenerator.isPresent()) {
+                return new Precompiled(staticGenerator.get());
+            }
+        }
+
+        if (clazz.isInterface()) {
+            return new InterfaceType(clazz, implementations.getOrDefault(clazz, ImplementationChooser.empty()));
+        }
+
+        return compileCommonClass(clazz);
+    }
+
+    private static Optional<StaticGenerator<?>> findStaticGenerator(Class<?> clazz) {
+        Class<?> generatorClass;
+        try {
+            generatorClass = Class.forName(StaticGenerator.classNameFor(clazz.getName()), true, clazz.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return Optional.empty();
+        }
+
+        if (!StaticGenerator.class.isAssignableFrom(generatorClass)) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of((StaticGenerator<?>) generatorClass.getConstructor().newInstance());
+        } catch (ReflectiveOperationException e) {
+            return Optional.empty();
+        }
+    }
+
+    private boolean canBeGenerated(Class<?> clazz) {
+        return generators.containsKey(clazz) ||
+                primitiveGenerators.containsKey(clazz) ||
+                clazz.isEnum() ||
+                clazz.isArray() ||
+                Collection.class.isAssignableFrom(clazz) ||
+                Map.class.isAssignableFrom(clazz) ||
+                clazz.isAnnotationPresent(Generatable.class);
+    }
+
+    private GenerationPlan compileCommonClass(Class<?> clazz) {
+        if (Modifier.isAbstract(clazz.getModifiers())) {
+            return new NotGeneratable("Class " + clazz.getName() + " is abstract and has no implementation to pick");
+        }
+
+        if (clazz.getAnnotation(Generatable.class).bypassConstructors()) {
+            return compileAllocatedClass(clazz);
+        }
+
+        List<FieldPlan> fields = new ArrayList<>();
+        List<PrimitiveField> primitiveFields = new ArrayList<>();
+        for (Field field : clazz.getDeclaredFields()) {
+            int modifiers = field.getModifiers();
+            if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers)) {
+                continue;
+            }
+
+            field.setAccessible(true);
+            FieldPlan fieldPlan = compileField(field, accessStrategy.writerFor(field));
+            if (fieldPlan instanceof PrimitiveField primitiveField) {
+                primitiveFields.add(primitiveField);
+            } else {
+                fields.add(fieldPlan);
+            }
+        }
+
+        Map<String, Set<String>> assignments = constructorAssignments(clazz);
+        List<ConstructorPlan> constructors = new ArrayList<>();
+        List<RejectedConstructor> rejected = new ArrayList<>();
+        for (Constructor<?> constructor : clazz.getDeclaredConstructors()) {
+            String descriptor = MethodType.methodType(void.class, constructor.getParameterTypes())
+                    .toMethodDescriptorString();
+            Set<String> assigned = assignments.getOrDefault(descriptor, Set.of());
+            List<ParameterPlan> parameters = compileParameters(constructor);
+            List<FieldPlan> fieldsLeft = fields.stream()
+                    .filter(field -> !assigned.contains(field.field().getName()))
+                    .toList();
+
+            String reason = firstReason(rejectionReason(constructor, parameters), unavailabilityReason(fieldsLeft));
+            if (reason != null) {
+                rejected.add(new RejectedConstructor(constructor, reason));
+                continue;
+            }
+
+            constructors.add(new ConstructorPlan(
+                    constructor,
+                    constructor.getParameterTypes(),
+                    parameters,
+                    accessStrategy.factoryFor(constructor),
+                    fieldsLeft,
+                    primitiveFields.stream().filter(field -> !assigned.contains(field.field().getName())).toList()
+            ));
+        }
+
+        if (constructors.isEmpty()) {
+            StringBuilder reason = new StringBuilder("No suitable constructor found for class: " + clazz.getName());
+            for (RejectedConstructor rejectedConstructor : rejected) {
+                reason.append("\n\t").append(rejectedConstructor.constructor())
+                        .append(": ").append(rejectedConstructor.reason());
+            }
+            return new NotGeneratable(reason.toString());
+        }
+
+        return new CommonClass(
+                clazz,
+                List.copyOf(constructors),
+                List.copyOf(fields),
+                List.copyOf(primitiveFields),
+                List.copyOf(rejected)
+        );
+    }
+
+    /**
+     * Instances are allocated without a constructor, so every field is generated. Final fields are written through
+     * reflection whatever the access strategy, it is the only way to write them.
+     */
+    private GenerationPlan compileAllocatedClass(Class<?> clazz) {
+        if (clazz.isRecord()) {
+            return new NotGeneratable("Record " + clazz.getName() + " cannot be allocated without its constructor");
+        }
+
+        List<FieldPlan> fields = new ArrayList<>();
+        List<PrimitiveField> primitiveFields = new ArrayList<>();
+        for (Field field : clazz.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+
+            field.setAccessible(true);
+            AccessStrategy strategy = Modifier.isFinal(field.getModifiers()) ? finalFieldStrategy : accessStrategy;
+            FieldPlan fieldPlan = compileField(field, strategy.writerFor(field));
+            if (fieldPlan instanceof PrimitiveField primitiveField) {
+                primitiveFields.add(primitiveField);
+            } else {
+                fields.add(fieldPlan);
+            }
+        }
+
+        String reason = unavailabilityReason(fields);
+        if (reason != null) {
+            return new NotGeneratable("Cannot allocate class: " + clazz.getName() + "\n\t" + reason);
+        }
+
+        ConstructorPlan allocation = new ConstructorPlan(
+                null,
+                new Class<?>[0],
+                List.of(),
+                ConstructorBypass.allocatorFor(clazz),
+                List.copyOf(fields),
+                List.copyOf(primitiveFields)
+        );
+        return new CommonClass(clazz, List.of(allocation), allocation.fields(), allocation.primitiveFields(), List.of());
+    }
+
+    /**
+     * Checks up front what would make every call of the constructor fail. Types of parameters are checked on their
+     * own, a failure of their constructors is only seen when generating.
+     *
+     * @return {@code null} if the constructor can be called
+     */
+    private String rejectionReason(Constructor<?> constructor, List<ParameterPlan> parameters) {
+        if (constructor.isSynthetic()) {
+            return "synthetic";
+        }
+        // private constructors are kept for the class itself, e.g. behind a factory method or a singleton
+        if (Modifier.isPrivate(constructor.getModifiers())) {
+            return "private";
+        }
+        if (!constructor.trySetAccessible()) {
+            return "not accessible";
+        }
+
+        for (int i = 0; i < parameters.size(); i++) {
+            String reason = switch (parameters.get(i)) {
+                case ValueParameter valueParameter -> unavailabilityReason(valueParameter.type());
+                case CollectionParameter collectionParameter -> unavailabilityReason(collectionParameter.elementType());
+                case MapParameter mapParameter -> firstReason(
+                        unavailabilityReason(mapParameter.keyType()),
+                        unavailabilityReason(mapParameter.valueType())
+                );
+            };
+            if (reason != null) {
+                return "parameter " + i + ": " + reason;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return {@code null} if values of all the fields can be generated, as far as their types tell
+     */
+    private String unavailabilityReason(List<FieldPlan> fields) {
+        for (FieldPlan fieldPlan : fields) {
+            String reason = switch (fieldPlan) {
+                case ValueField valueField -> unavailabilityReason(valueField.type());
+                case CollectionField collectionField -> unavailabilityReason(collectionField.elementType());
+                case MapField mapField -> firstReason(
+                        unavailabilityReason(mapField.keyType()),
+                        unavailabilityReason(mapField.valueType())
+                );
+                case PrimitiveField ignored -> null;
+            };
+            if (reason != null) {
+                return "field " + fieldPlan.field().getName() + ": " + reason;
+            }
+        }
+
+        return null;
+    }
+
+    private static String firstReason(String reason, String otherReason) {
+        return reason != null ? reason : otherReason;
+    }
+
+    /**
+     * @param type {@code null} for the element type of a collection that is left empty
+     * @return {@code null} if values of the type can be generated, as far as the type alone tells
+     */
+    private String unavailabilityReason(Class<?> type) {
+        if (type == null || generators.containsKey(type) || primitiveGenerators.containsKey(type)) {
+            return null;
+        }
+        if (type.isArray()) {
+            return unavailabilityReason(type.getComponentType());
+        }
+        if (!canBeGenerated(type)) {
+            return type.getName() + " is not annotated with @" + Generatable.class.getSimpleName() +
+                    " and not a simple type";
+        }
+        if (type.isEnum()) {
+            return type.getEnumConstants().length == 0 ? "enum " + type.getName() + " has no constants" : null;
+        }
+        if (Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)) {
+            return null;
+        }
+        if (type.isInterface()) {
+            return implementations.getOrDefault(type, ImplementationChooser.empty()).isEmpty()
+                    ? "no implementation of " + type.getName()
+                    : null;
+        }
+        if (Modifier.isAbstract(type.getModifiers())) {
+            return type.getName() + " is abstract";
+        }
+        return null;
+    }
+
+    /**
+     * Fields assigned from parameters by every constructor, keyed by constructor descriptor. Empty if the class
+     * file cannot be read, e.g. for classes defined at runtime: all fields are generated then.
+     */
+    private static Map<String, Set<String>> constructorAssignments(Class<?> clazz) {
+        try (InputStream classFile = clazz.getResourceAsStream("/" + clazz.getName().replace('.', '/') + ".class")) {
+            if (classFile == null) {
+                return Map.of();
+            }
+            return ClassFileParser.constructorAssignments(classFile.readAllBytes());
+        } catch (IOException | ClassFormatError e) {
+            return Map.of();
+        }
+    }
+
+    private static List<ParameterPlan> compileParameters(Constructor<?> constructor) {
+        Class<?>[] types = constructor.getParameterTypes();
+        Type[] genericTypes = constructor.getGenericParameterTypes();
+
+        List<ParameterPlan> result = new ArrayList<>(types.length);
+        for (int i = 0; i < types.length; i++) {
+            // generic types leave out synthetic parameters, such as the outer instance of inner classes
+            Type genericType = genericTypes.length == types.length ? genericTypes[i] : types[i];
+            result.add(compileParameter(types[i], genericType));
+        }
+        return List.copyOf(result);
+    }
+
+    private static ParameterPlan compileParameter(Class<?> type, Type genericType) {
+        if (Collection.class.isAssignableFrom(type)) {
+            Class<?>[] typeArgs = classTypeArguments(genericType, 1);
+            if (typeArgs != null) {
+                return new CollectionParameter(collectionFactory(type), typeArgs[0]);
+            }
+        }
+
+        if (Map.class.isAssignableFrom(type)) {
+            Class<?>[] typeArgs = classTypeArguments(genericType, 2);
+            if (typeArgs != null) {
+                return new MapParameter(mapFactory(type), typeArgs[0], typeArgs[1]);
+            }
+        }
+
+        return new ValueParameter(type);
+    }
+
+    private FieldPlan compileField(Field field, FieldWriter writer) {
+        Class<?> fieldClass = field.getType();
+
+        PrimitiveGenerator primitiveGenerator = primitiveGenerators.get(fieldClass);
+        if (primitiveGenerator != null) {
+            return new PrimitiveField(field, writer, primitiveGenerator);
+        }
+
+        if (Collection.class.isAssignableFrom(fieldClass)) {
+            Class<?>[] typeArgs = classTypeArguments(field.getGenericType(), 1);
+            return new CollectionField(
+                    field,
+                    writer,
+                    collectionFactory(fieldClass),
+                    typeArgs == null ? null : typeArgs[0]
+            );
+        }
+
+        if (Map.class.isAssignableFrom(fieldClass)) {
+            Class<?>[] typeArgs = classTypeArguments(field.getGenericType(), 2);
+            return new MapField(
+                    field,
+                    writer,
+                    mapFactory(fieldClass),
+                    typeArgs == null ? null : typeArgs[0],
+                    typeArgs == null ? null : typeArgs[1]
+            );
+        }
+
+        return new ValueField(field, writer, fieldClass);
+    }
+
+    /**
+     * Returns type arguments of a parameterized type only if there are exactly {@code count} of them
+     * and all of them are plain classes, otherwise {@code null}.
+     */
+    private static Class<?>[] classTypeArguments(Type genericType, int count) {
+        if (!(genericType instanceof ParameterizedType parameterizedType)) {
+            return null;
+        }
+
+        Type[] typeArgs = parameterizedType.getActualTypeArguments();
+        if (typeArgs.length != count) {
+            return null;
+        }
+
+        Class<?>[] result = new Class<?>[count];
+        for (int i = 0; i < count; i++) {
+            if (!(typeArgs[i] instanceof Class<?> typeArg)) {
+                return null;
+            }
+            result[i] = typeArg;
+        }
+        return result;
+    }
+
+    private static Supplier<Collection<Object>> collectionFactory(Class<?> collectionClass) {
+        return switch (collectionClass) {
+            case Class<?> c when Set.class.isAssignableFrom(c) -> HashSet::new;
+            case Class<?> c when Queue.class.isAssignableFrom(c) -> LinkedList::new;
+            default -> ArrayList::new;
+        };
+    }
+
+    private static Supplier<Map<Object, Object>> mapFactory(Class<?> mapClass) {
+        if (SortedMap.class.isAssignableFrom(mapClass)) {
+            return TreeMap::new;
+        }
+        return HashMap::new;
+    }
+}
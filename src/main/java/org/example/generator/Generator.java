@@ -2,40 +2,113 @@ package org.example.generator;
 
 import java.io.IOException;
 import java.lang.reflect.Array;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
 import java.net.URISyntaxException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.example.generator.GenerationPlan.*;
+import org.example.generator.access.FieldWriter;
+import org.example.generator.jfr.GenerationEvents;
+import org.example.generator.type.PrimitiveGenerator;
 import org.example.generator.type.TypeGeneratorsProvider;
 
+/**
+ * Thread-safe: one instance can be shared by any number of threads. Every thread draws from its own
+ * {@link SplittableRandom} stream split off a root stream seeded with {@link GeneratorOptions#seed()}, and passes it
+ * down to the {@link TypeGeneratorsProvider#getRandomGenerators() generators} of the providers, so threads do not
+ * contend on a shared seed. Runs are reproducible from the seed as long as threads start generating in the same
+ * order; {@link #generateValueOfType(Class, RandomGenerator)} takes the stream explicitly for tasks that need to be
+ * reproducible regardless of scheduling.
+ * <p>
+ * With {@link GeneratorOptions#forkJoinPool()} set, independent parts of a value (elements, entries, constructor
+ * arguments and fields) are generated in parallel, each from its own stream split off the stream of the value.
+ * A seed then gives the same values whatever the pool size, but not the same values as sequential generation.
+ * Types with a {@link StaticGenerator} generate their own fields sequentially.
+ */
 public class Generator {
 
-    private final Map<Class<?>, Supplier<?>> generators;
+    private final Map<Class<?>, Function<RandomGenerator, ?>> generators;
+    private final Map<Class<?>, PrimitiveGenerator> primitiveGenerators;
 
     private final int maxDepth;
+    private final int minLength;
+    private final int maxLength;
     private final String packageToScan;
     private final Set<Class<?>> classesInPackageToScan;
+    private final Map<Class<?>, ImplementationChooser> implementations;
+    /**
+     * Choosers for the implementation lists of static generators, keyed by interface: the lists are constants of
+     * the generated code.
+     */
+    private final Map<Class<?>, ImplementationChooser> staticImplementations = new ConcurrentHashMap<>();
+
+    /**
+     * Forking stops while the worker has more queued tasks than that, it runs parts itself then.
+     */
+    private static final int MAX_SURPLUS_TASKS = 3;
+
+    /**
+     * {@code null} when generating sequentially.
+     */
+    private final ForkJoinPool forkJoinPool;
+
+    /**
+     * {@code null} when nobody listens.
+     */
+    private final GenerationListener listener;
+
+    private final SplittableRandom rootRandom;
+    private final ThreadLocal<SplittableRandom> threadRandom = ThreadLocal.withInitial(this::splitRootRandom);
+
+    private final ClassValue<ConstructorFailures> constructorFailures = new ClassValue<>() {
+        @Override
+        protected ConstructorFailures computeValue(Class<?> type) {
+            return new ConstructorFailures(((CommonClass) plans.get(type)).constructors().size());
+        }
+    };
 
-    private final Random random = new Random();
+    private final GenerationPlanCompiler planCompiler;
+    private final ClassValue<GenerationPlan> plans = new ClassValue<>() {
+        @Override
+        protected GenerationPlan computeValue(Class<?> type) {
+            return planCompiler.compile(type);
+        }
+    };
 
     public Generator(
             Collection<TypeGeneratorsProvider> providers,
             int maxDepth,
             Object packageMarker
     ) {
-        Map<Class<?>, Supplier<?>> result = new HashMap<>();
+        this(providers, maxDepth, packageMarker, GeneratorOptions.defaults());
+    }
+
+    public Generator(
+            Collection<TypeGeneratorsProvider> providers,
+            int maxDepth,
+            Object packageMarker,
+            GeneratorOptions options
+    ) {
+        Map<Class<?>, Function<RandomGenerator, ?>> result = new HashMap<>();
 
         for (TypeGeneratorsProvider provider : providers) {
-            Map<Class<?>, Supplier<?>> generatorsFromProvider = provider.getGenerators();
+            Map<Class<?>, Function<RandomGenerator, ?>> generatorsFromProvider = provider.getRandomGenerators();
 
-            for (Map.Entry<Class<?>, Supplier<?>> entry : generatorsFromProvider.entrySet()) {
+            for (Map.Entry<Class<?>, Function<RandomGenerator, ?>> entry : generatorsFromProvider.entrySet()) {
                 Class<?> type = entry.getKey();
-                Supplier<?> supplier = entry.getValue();
+                Function<RandomGenerator, ?> supplier = entry.getValue();
 
                 if (result.containsKey(type)) {
                     throw new IllegalArgumentException(
@@ -48,117 +121,403 @@ public class Generator {
         }
 
         this.generators = Map.copyOf(result);
+        this.primitiveGenerators = collectPrimitiveGenerators(providers);
 
         if (maxDepth <= 0) {
             throw new IllegalArgumentException("maxDepth expected to be more than 0, but got " + maxDepth);
         }
         this.maxDepth = maxDepth;
+        this.forkJoinPool = options.forkJoinPool();
+        this.listener = options.listener();
+        this.minLength = options.minLength();
+        this.maxLength = options.maxLength();
+        this.rootRandom = options.seed() == null ? new SplittableRandom() : new SplittableRandom(options.seed());
 
         this.packageToScan = packageMarker.getClass().getPackageName();
         // todo add test
         try {
-            this.classesInPackageToScan = PackageUtils.getClassesInPackage(
+            this.classesInPackageToScan = PackageUtils.getGeneratableClassesInPackage(
                     packageToScan,
                     Thread.currentThread().getContextClassLoader()
             );
         } catch (IOException | URISyntaxException e) {
             throw new RuntimeException(e);
         }
+
+        this.implementations = indexImplementations(classesInPackageToScan, packageToScan);
+        this.planCompiler = new GenerationPlanCompiler(
+                generators,
+                primitiveGenerators,
+                options.accessBackend().createStrategy(),
+                options.staticGenerators(),
+                implementations
+        );
+    }
+
+    private static Map<Class<?>, PrimitiveGenerator> collectPrimitiveGenerators(
+            Collection<TypeGeneratorsProvider> providers
+    ) {
+        Map<Class<?>, PrimitiveGenerator> result = new HashMap<>();
+
+        for (TypeGeneratorsProvider provider : providers) {
+            for (Map.Entry<Class<?>, PrimitiveGenerator> entry : provider.getPrimitiveGenerators().entrySet()) {
+                Class<?> type = entry.getKey();
+
+                if (type != entry.getValue().type()) {
+                    throw new IllegalArgumentException(
+                            "Primitive generator of " + entry.getValue().type().getName() + " supplied for type: " +
+                                    type.getName()
+                    );
+                }
+                if (result.containsKey(type)) {
+                    throw new IllegalArgumentException(
+                            "Multiple providers supply primitive generator for type: " + type.getName()
+                    );
+                }
+
+                result.put(type, entry.getValue());
+            }
+        }
+
+        return Map.copyOf(result);
+    }
+
+    /**
+     * Maps every interface of the package to the concrete {@code @Generatable} classes implementing it,
+     * directly or through superinterfaces and superclasses.
+     */
+    private static Map<Class<?>, ImplementationChooser> indexImplementations(
+            Set<Class<?>> classes,
+            String packageToScan
+    ) {
+        Map<Class<?>, List<Class<?>>> byInterface = new HashMap<>();
+
+        for (Class<?> clazz : classes) {
+            if (clazz.isInterface() || Modifier.isAbstract(clazz.getModifiers()) ||
+                    !clazz.isAnnotationPresent(Generatable.class)) {
+                continue;
+            }
+
+            Set<Class<?>> interfaces = new HashSet<>();
+            for (Class<?> type = clazz; type != null; type = type.getSuperclass()) {
+                collectInterfaces(type, interfaces);
+            }
+
+            for (Class<?> interfaceClass : interfaces) {
+                if (interfaceClass.getPackageName().startsWith(packageToScan)) {
+                    byInterface.computeIfAbsent(interfaceClass, k -> new ArrayList<>()).add(clazz);
+                }
+            }
+        }
+
+        Map<Class<?>, ImplementationChooser> result = new HashMap<>();
+        byInterface.forEach((interfaceClass, impls) -> {
+            // scan order is not stable, sorting keeps a seeded choice reproducible
+            impls.sort(Comparator.comparing(Class::getName));
+            result.put(interfaceClass, ImplementationChooser.of(impls));
+        });
+        return Map.copyOf(result);
+    }
+
+    private static void collectInterfaces(Class<?> type, Set<Class<?>> result) {
+        for (Class<?> interfaceClass : type.getInterfaces()) {
+            if (result.add(interfaceClass)) {
+                collectInterfaces(interfaceClass, result);
+            }
+        }
+    }
+
+    private synchronized SplittableRandom splitRootRandom() {
+        return rootRandom.split();
     }
 
     public Object generateValueOfType(
             Class<?> clazz
     ) throws InvocationTargetException, InstantiationException, IllegalAccessException, GenerationException {
-        return generateValueOfType(clazz, 0);
+        return generateValueOfType(clazz, threadRandom.get());
+    }
+
+    /**
+     * @param random stream to draw from, it must not be used by other threads during the call
+     */
+    public Object generateValueOfType(
+            Class<?> clazz,
+            RandomGenerator random
+    ) throws InvocationTargetException, InstantiationException, IllegalAccessException, GenerationException {
+        return inPool(r -> generateTopLevel(clazz, checkedPlan(clazz), r), random);
+    }
+
+    /**
+     * Generates {@code count} values of the type, looking it up once for the whole batch. In parallel mode the
+     * values are generated as independent parts of one value.
+     */
+    public <T> List<T> generateMany(
+            Class<T> type,
+            int count
+    ) throws InvocationTargetException, InstantiationException, IllegalAccessException, GenerationException {
+        if (count < 0) {
+            throw new IllegalArgumentException("count expected to be non-negative, but got " + count);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<T> result = (List<T>) Arrays.asList(generateBatch(type, count, threadRandom.get()));
+        return result;
+    }
+
+    /**
+     * Fills every slot of the array with a value of its component type.
+     */
+    public <T> void generateInto(
+            T[] target
+    ) throws InvocationTargetException, InstantiationException, IllegalAccessException, GenerationException {
+        Object[] values = generateBatch(target.getClass().getComponentType(), target.length, threadRandom.get());
+        System.arraycopy(values, 0, target, 0, values.length);
+    }
+
+    /**
+     * Endless stream of values of the type. Failures surface as {@link UncheckedGenerationException}.
+     */
+    public <T> Stream<T> stream(Class<T> type) throws GenerationException {
+        return stream(type, Long.MAX_VALUE, false);
+    }
+
+    /**
+     * Sized stream of {@code count} values of the type, splittable for parallel processing: every split draws from
+     * a stream of its own split off the one of the calling thread. Failures surface as
+     * {@link UncheckedGenerationException}.
+     */
+    public <T> Stream<T> stream(Class<T> type, long count) throws GenerationException {
+        if (count < 0) {
+            throw new IllegalArgumentException("count expected to be non-negative, but got " + count);
+        }
+        return stream(type, count, true);
+    }
+
+    /**
+     * Endless publisher of values of the type generating on the common pool, see
+     * {@link #publisher(Class, Executor)}.
+     */
+    public <T> Flow.Publisher<T> publisher(Class<T> type) throws GenerationException {
+        return publisher(type, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Endless publisher of values of the type. Each subscription generates on the executor only what its subscriber
+     * requested, in batches of at most the outstanding demand, so nothing is buffered beyond that.
+     */
+    public <T> Flow.Publisher<T> publisher(Class<T> type, Executor executor) throws GenerationException {
+        checkedPlan(type);
+        return new GeneratorPublisher<>(this, type, executor);
+    }
+
+    private <T> Stream<T> stream(Class<T> type, long count, boolean sized) throws GenerationException {
+        GenerationPlan plan = checkedPlan(type);
+
+        Function<RandomGenerator, T> element = random -> {
+            try {
+                @SuppressWarnings("unchecked")
+                T value = (T) generateTopLevel(type, plan, random);
+                return value;
+            } catch (InvocationTargetException | InstantiationException | IllegalAccessException |
+                     GenerationException e) {
+                throw new UncheckedGenerationException(e);
+            }
+        };
+
+        return StreamSupport.stream(
+                new GeneratedSpliterator<>(element, threadRandom.get().split(), 0, count, sized),
+                false
+        );
+    }
+
+    private Object[] generateBatch(
+            Class<?> type,
+            int count,
+            RandomGenerator random
+    ) throws InvocationTargetException, InstantiationException, IllegalAccessException, GenerationException {
+        GenerationPlan plan = checkedPlan(type);
+        Sibling[] elements = repeat(r -> generateTopLevel(type, plan, r), count);
+        boolean leaves = isLeaf(plan);
+
+        return (Object[]) inPool(r -> generateSiblings(elements, leaves, r), random);
+    }
+
+    /**
+     * Runs the generation on the pool in parallel mode, unless already there.
+     */
+    private Object inPool(
+            Sibling generation,
+            RandomGenerator random
+    ) throws InvocationTargetException, InstantiationException, IllegalAccessException, GenerationException {
+        if (forkJoinPool == null || ForkJoinTask.getPool() == forkJoinPool) {
+            return generation.generate(random);
+        }
+
+        SiblingTask task = new SiblingTask(generation, random);
+        forkJoinPool.invoke(task);
+        return task.joinValue();
     }
 
     private Object generateValueOfType(
             Class<?> clazz,
-            int depth
+            int depth,
+            RandomGenerator random
     ) throws InvocationTargetException, InstantiationException, IllegalAccessException, GenerationException {
+        return generateFromPlan(clazz, checkedPlan(clazz), depth, random);
+    }
 
-        if (!canBeGenerated(clazz)) {
-            throw new GenerationException(
-                    "Class is not annotated with @" + Generatable.class.getSimpleName() + " and not a simple type"
-            );
+    private GenerationPlan checkedPlan(Class<?> clazz) throws GenerationException {
+        GenerationPlan plan = plans.get(clazz);
+
+        if (plan instanceof NotGeneratable notGeneratable) {
+            throw new GenerationException(notGeneratable.reason());
         }
+        return plan;
+    }
 
-        // todo primitives cannot be null
-        if (depth > maxDepth) {
+    private Object generateFromPlan(
+            Class<?> type,
+            GenerationPlan plan,
+            int depth,
+            RandomGenerator random
+    ) throws InvocationTargetException, InstantiationException, IllegalAccessException, GenerationException {
+        // primitives cannot be null, they are leaves anyway
+        if (depth > maxDepth && !type.isPrimitive()) {
+            if (listener != null) {
+                listener.onDepthCutoff(type, depth);
+            }
             return null;
         }
 
-        if (generators.containsKey(clazz)) {
-            return generators.get(clazz).get();
+        if (listener != null) {
+            return generateObserved(type, plan, depth, random);
         }
-
-        if (clazz.isEnum()) {
-            return generateEnum(clazz);
+        if (GenerationEvents.valuesRecorded()) {
+            return generateRecorded(type, plan, depth, random);
         }
+        return generatePlan(plan, depth, random);
+    }
 
-        if (clazz.isArray()) {
-            return generateArray(clazz, depth);
+    private Object generateObserved(
+            Class<?> type,
+            GenerationPlan plan,
+            int depth,
+            RandomGenerator random
+    ) throws InvocationTargetException, InstantiationException, IllegalAccessException, GenerationException {
+        listener.onEnter(type, depth);
+        long start = System.nanoTime();
+        try {
+            Object value = GenerationEvents.valuesRecorded()
+                    ? generateRecorded(type, plan, depth, random)
+                    : generatePlan(plan, depth, random);
+            listener.onExit(type, depth, System.nanoTime() - start);
+            return value;
+        } catch (Exception e) {
+            listener.onFailure(type, depth, e);
+            throw e;
         }
+    }
 
-        if (Collection.class.isAssignableFrom(clazz)) {
-            return generateCollectionFromClass(clazz);
+    /**
+     * Generates a value asked for through the public methods, as opposed to the nested ones.
+     */
+    private Object generateTopLevel(
+            Class<?> type,
+            GenerationPlan plan,
+            RandomGenerator random
+    ) throws InvocationTargetException, InstantiationException, IllegalAccessException, GenerationException {
+        if (!GenerationEvents.generationsRecorded()) {
+            return generateFromPlan(type, plan, 0, random);
         }
 
-        if (Map.class.isAssignableFrom(clazz)) {
-            return generateMapFromClass(clazz);
+        GenerationEvents.Value event = GenerationEvents.beginGeneration(type);
+        boolean failed = true;
+        try {
+            Object value = generateFromPlan(type, plan, 0, random);
+            failed = false;
+            return value;
+        } finally {
+            event.end(failed);
         }
+    }
 
-        if (clazz.isInterface()) {
-            Class<?> implementationClass = findImplementationClass(clazz).orElseThrow(
-                    () -> new GenerationException("No implementation found for interface " + clazz.getName())
-            );
-            return generateValueOfType(implementationClass, depth); // not incrementing depth on purpose
+    private Object generateRecorded(
+            Class<?> type,
+            GenerationPlan plan,
+            int depth,
+            RandomGenerator random
+    ) throws InvocationTargetException, InstantiationException, IllegalAccessException, GenerationException {
+        GenerationEvents.Value event = GenerationEvents.beginSubtree(type, depth);
+        boolean failed = true;
+        try {
+            Object value = generatePlan(plan, depth, random);
+            failed = false;
+            return value;
+        } finally {
+            event.end(failed);
         }
+    }
 
-        return generateCommonClass(clazz, depth);
+    private Object generatePlan(
+            GenerationPlan plan,
+            int depth,
+            RandomGenerator random
+    ) throws InvocationTargetException, InstantiationException, IllegalAccessException, GenerationException {
+        return switch (plan) {
+            case Simple simple -> simple.generator().apply(random);
+            case EnumConstants enumConstants -> generateEnum(enumConstants, random);
+            case ArrayOf arrayOf -> generateArray(arrayOf, depth, random);
+            case PrimitiveArrayOf arrayOf -> arrayOf.generator().generateArray(random, nextLength(random));
+            case CollectionOf collectionOf -> collectionOf.factory().get();
+            case MapOf mapOf -> mapOf.factory().get();
+            case InterfaceType interfaceType -> generateImplementation(
+                    interfaceType.interfaceClass(),
+                    interfaceType.implementations(),
+                    depth,
+                    random
+            );
+            case Precompiled precompiled -> precompiled.generator().generate(new Context(random), depth);
+            case CommonClass commonClass -> generateCommonClass(commonClass, depth, random);
+            case NotGeneratable ignored -> throw new IllegalStateException("unreachable");
+        };
     }
 
-    private boolean canBeGenerated(Class<?> clazz) {
-        return generators.containsKey(clazz) ||
-                clazz.isEnum() ||
-                clazz.isArray() ||
-                Collection.class.isAssignableFrom(clazz) ||
-                Map.class.isAssignableFrom(clazz) ||
-                clazz.isAnnotationPresent(Generatable.class);
+    private int nextLength(RandomGenerator random) {
+        return minLength == maxLength ? minLength : random.nextInt(minLength, maxLength + 1);
     }
 
-    // todo вынести длину в параметр
     private Object generateArray(
-            Class<?> arrayClass,
-            int depth
+            ArrayOf arrayOf,
+            int depth,
+            RandomGenerator random
     ) throws GenerationException, InvocationTargetException, InstantiationException, IllegalAccessException {
-        Class<?> arrayElementClass = arrayClass.getComponentType();
+        Class<?> arrayElementClass = arrayOf.componentType();
 
-        if (arrayElementClass == null) {
-            throw new IllegalStateException("generateArray received not array as a parameter");
-        }
-
-        int length = random.nextInt(1, 10);
+        int length = nextLength(random);
         Object result = Array.newInstance(arrayElementClass, length);
 
-        for (int i = 0; i < length; ++i) {
-            Object element = generateValueOfType(arrayElementClass, depth + 1);
-            Array.set(result, i, element);
+        Object[] elements = generateSiblings(
+                repeat(r -> generateValueOfType(arrayElementClass, depth + 1, r), length),
+                isLeaf(arrayElementClass),
+                random
+        );
+        if (arrayElementClass.isPrimitive()) {
+            // only for primitive types without a primitive generator, see PrimitiveArrayOf
+            for (int i = 0; i < length; ++i) {
+                Array.set(result, i, elements[i]);
+            }
+        } else {
+            System.arraycopy(elements, 0, result, 0, length);
         }
 
         return result;
     }
 
-    private Object generateEnum(Class<?> enumClass) throws GenerationException {
-        Object[] values = enumClass.getEnumConstants();
-
-        if (values == null) {
-            // should not happen
-            throw new IllegalStateException("generateEnum received not enum as a parameter");
-        }
+    private Object generateEnum(EnumConstants enumConstants, RandomGenerator random) throws GenerationException {
+        Object[] values = enumConstants.constants();
 
         if (0 == values.length) {
-            throw new GenerationException("enum '" + enumClass.getName() +
+            throw new GenerationException("enum '" + enumConstants.enumClass().getName() +
                     "' cannot generated, because values is empty"
             );
         }
@@ -166,141 +525,448 @@ public class Generator {
         return values[random.nextInt(values.length)];
     }
 
-    private Collection<Object> generateCollectionFromClass(Class<?> collectionClass) {
-        return switch (collectionClass) {
-            case Class<?> c when Set.class.isAssignableFrom(c) -> new HashSet<>();
-            case Class<?> c when Queue.class.isAssignableFrom(c) -> new LinkedList<>();
-            default -> new ArrayList<>();
-        };
-    }
-
-    private Map<Object, Object> generateMapFromClass(Class<?> mapClass) {
-        if (SortedMap.class.isAssignableFrom(mapClass)) {
-            return new TreeMap<>();
-        }
-        return new HashMap<>();
-    }
-
-    private Optional<Class<?>> findImplementationClass(Class<?> interfaceClass) {
-        if (!interfaceClass.getPackageName().startsWith(packageToScan)) {
-            return Optional.empty();
+    private Object generateImplementation(
+            Class<?> interfaceClass,
+            ImplementationChooser implementations,
+            int depth,
+            RandomGenerator random
+    ) throws GenerationException, InvocationTargetException, InstantiationException, IllegalAccessException {
+        if (implementations.isEmpty()) {
+            throw new GenerationException("No implementation found for interface " + interfaceClass.getName());
         }
 
-        List<Class<?>> implementations = classesInPackageToScan.stream().filter(c ->
-                interfaceClass.isAssignableFrom(c) &&
-                        c.isAnnotationPresent(Generatable.class) &&
-                        !c.isInterface() &&
-                        !Modifier.isAbstract(c.getModifiers())
-        ).toList();
-        if (implementations.isEmpty()) {
-            return Optional.empty();
+        Class<?> implementationClass = implementations.choose(random);
+        if (listener != null) {
+            listener.onInterfaceResolved(interfaceClass, implementationClass);
         }
-        return Optional.of(implementations.get(random.nextInt(implementations.size())));
+        return generateValueOfType(implementationClass, depth, random); // not incrementing depth on purpose
     }
 
     private Object generateCommonClass(
-            Class<?> clazz,
-            int depth
+            CommonClass commonClass,
+            int depth,
+            RandomGenerator random
     ) throws GenerationException, InvocationTargetException, InstantiationException, IllegalAccessException {
-        Constructor<?>[] constructors = clazz.getDeclaredConstructors();
-        for (int i = 0; i < constructors.length; i++) {
-            Constructor<?> constructor = constructors[i];
-            try {
-                return tryConstructor(constructor, depth);
-            } catch (Exception e) {
-                if (i == constructors.length - 1) {
-                    throw e;
+        List<ConstructorPlan> constructors = commonClass.constructors();
+        ConstructorFailures failures = constructorFailures.get(commonClass.type());
+        long knownToFail = failures.alwaysFailing();
+        // every constructor draws from its own stream, so the value does not depend on which ones were tried before
+        long seed = constructors.size() == 1 ? 0 : random.nextLong();
+        int remaining = constructors.size();
+
+        // constructors known to always fail come last, they are only tried once every other one failed
+        for (int pass = 0; pass < 2; pass++) {
+            for (int index = 0; index < constructors.size(); index++) {
+                boolean known = index < Long.SIZE && (knownToFail >>> index & 1) == 1;
+                if (known != (pass == 1)) {
+                    continue;
+                }
+
+                ConstructorPlan constructorPlan = constructors.get(index);
+                RandomGenerator constructorRandom = constructors.size() == 1
+                        ? random
+                        : new SplittableRandom(seed + index);
+                try {
+                    Object instance = tryConstructor(constructorPlan, depth, constructorRandom);
+                    failures.succeeded(index);
+                    if (listener != null) {
+                        listener.onConstructorChosen(commonClass.type(), constructorPlan.constructor());
+                    }
+                    return instance;
+                } catch (Exception e) {
+                    failures.failed(index);
+                    GenerationEvents.constructorFailed(commonClass.type(), constructorPlan.constructor(), depth, e);
+                    if (--remaining == 0) {
+                        throw e;
+                    }
+                    if (listener != null) {
+                        listener.onConstructorFailed(commonClass.type(), constructorPlan.constructor(), e);
+                    }
                 }
             }
         }
 
-        throw new GenerationException("No suitable constructor found for class: " + clazz.getName());
+        throw new IllegalStateException("No constructor of " + commonClass.type().getName() + " was tried");
     }
 
     private Object tryConstructor(
-            Constructor<?> constructor,
-            int depth
+            ConstructorPlan constructorPlan,
+            int depth,
+            RandomGenerator random
     ) throws GenerationException, InvocationTargetException, InstantiationException, IllegalAccessException {
-        Object[] paramValues = new Object[constructor.getParameterCount()];
-
-        for (int i = 0; i < constructor.getParameterCount(); i++) {
-            Class<?> paramType = constructor.getParameterTypes()[i];
-            paramValues[i] = generateValueOfType(paramType, depth + 1);
+        List<ParameterPlan> parameterPlans = constructorPlan.parameters();
+        Sibling[] parameters = new Sibling[parameterPlans.size()];
+        boolean leafParameters = true;
+
+        for (int i = 0; i < parameters.length; i++) {
+            parameters[i] = switch (parameterPlans.get(i)) {
+                case CollectionParameter collectionParameter -> {
+                    leafParameters = false;
+                    yield r -> generateCollection(
+                            collectionParameter.factory(),
+                            collectionParameter.elementType(),
+                            depth,
+                            r
+                    );
+                }
+                case MapParameter mapParameter -> {
+                    leafParameters = false;
+                    yield r -> generateMap(
+                            mapParameter.factory(),
+                            mapParameter.keyType(),
+                            mapParameter.valueType(),
+                            depth,
+                            r
+                    );
+                }
+                case ValueParameter valueParameter -> {
+                    leafParameters &= isLeaf(valueParameter.type());
+                    yield r -> generateValueOfType(valueParameter.type(), depth + 1, r);
+                }
+            };
         }
 
-        var instance = constructor.newInstance(paramValues);
+        Object[] paramValues = generateSiblings(parameters, leafParameters, random);
+        var instance = constructorPlan.factory().newInstance(paramValues);
 
-        var clazz = instance.getClass();
+        List<FieldPlan> fields = constructorPlan.fields();
 
-        for (Field field : clazz.getDeclaredFields()) {
-            int modifiers = field.getModifiers();
-            if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers)) {
-                continue;
-            }
+        Sibling[] fieldSiblings = new Sibling[fields.size()];
+        boolean leafFields = true;
 
-            field.setAccessible(true);
-            Class<?> fieldClass = field.getType();
-
-            Object fieldValue = switch (fieldClass) {
-                case Class<?> c when Collection.class.isAssignableFrom(c) -> generateCollectionFromField(field, depth);
-                case Class<?> c when Map.class.isAssignableFrom(c) -> generateMapFromField(field, depth);
-                default -> generateValueOfType(fieldClass, depth + 1);
+        for (int i = 0; i < fieldSiblings.length; i++) {
+            fieldSiblings[i] = switch (fields.get(i)) {
+                case CollectionField collectionField -> {
+                    leafFields = false;
+                    yield r -> generateCollection(
+                            collectionField.factory(),
+                            collectionField.elementType(),
+                            depth,
+                            r
+                    );
+                }
+                case MapField mapField -> {
+                    leafFields = false;
+                    yield r -> generateMap(
+                            mapField.factory(),
+                            mapField.keyType(),
+                            mapField.valueType(),
+                            depth,
+                            r
+                    );
+                }
+                case ValueField valueField -> {
+                    leafFields &= isLeaf(valueField.type());
+                    yield r -> generateValueOfType(valueField.type(), depth + 1, r);
+                }
+                case PrimitiveField ignored -> throw new IllegalStateException("unreachable");
             };
+        }
 
-            field.set(instance, fieldValue);
+        Object[] fieldValues = generateSiblings(fieldSiblings, leafFields, random);
+        for (int i = 0; i < fieldValues.length; i++) {
+            fields.get(i).writer().set(instance, fieldValues[i]);
+        }
+        for (PrimitiveField primitiveField : constructorPlan.primitiveFields()) {
+            writePrimitive(instance, primitiveField, random);
         }
 
         return instance;
     }
 
-    private Collection<?> generateCollectionFromField(
-            Field collectionField,
-            int depth
+    private static void writePrimitive(
+            Object instance,
+            PrimitiveField primitiveField,
+            RandomGenerator random
+    ) throws IllegalAccessException {
+        FieldWriter writer = primitiveField.writer();
+
+        switch (primitiveField.generator()) {
+            case PrimitiveGenerator.OfBoolean generator -> writer.setBoolean(instance, generator.generate(random));
+            case PrimitiveGenerator.OfByte generator -> writer.setByte(instance, generator.generate(random));
+            case PrimitiveGenerator.OfShort generator -> writer.setShort(instance, generator.generate(random));
+            case PrimitiveGenerator.OfChar generator -> writer.setChar(instance, generator.generate(random));
+            case PrimitiveGenerator.OfInt generator -> writer.setInt(instance, generator.generate(random));
+            case PrimitiveGenerator.OfLong generator -> writer.setLong(instance, generator.generate(random));
+            case PrimitiveGenerator.OfFloat generator -> writer.setFloat(instance, generator.generate(random));
+            case PrimitiveGenerator.OfDouble generator -> writer.setDouble(instance, generator.generate(random));
+        }
+    }
+
+    private Collection<?> generateCollection(
+            Supplier<Collection<Object>> factory,
+            Class<?> elementType,
+            int depth,
+            RandomGenerator random
     ) throws GenerationException, InvocationTargetException, InstantiationException, IllegalAccessException {
-        Type genericType = collectionField.getGenericType();
-        Collection<Object> collection = generateCollectionFromClass(collectionField.getType());
+        Collection<Object> collection = factory.get();
 
-        if (genericType instanceof ParameterizedType parameterizedType) {
-            Type[] typeArgs = parameterizedType.getActualTypeArguments();
+        // if not generic, then fill
+        if (elementType != null) {
+            int length = nextLength(random);
 
-            // if not generic, then fill
-            if (typeArgs.length == 1 && typeArgs[0] instanceof Class<?> elementType) {
-                int length = random.nextInt(1, 10);
+            Object[] elements = generateSiblings(
+                    repeat(r -> generateValueOfType(elementType, depth + 1, r), length),
+                    isLeaf(elementType),
+                    random
+            );
+            collection.addAll(Arrays.asList(elements));
+        }
 
-                for (int i = 0; i < length; ++i) {
-                    Object element = generateValueOfType(elementType, depth + 1);
-                    collection.add(element);
-                }
+        return collection;
+    }
+
+    private Map<?, ?> generateMap(
+            Supplier<Map<Object, Object>> factory,
+            Class<?> keyType,
+            Class<?> valueType,
+            int depth,
+            RandomGenerator random
+    ) throws GenerationException, InvocationTargetException, InstantiationException, IllegalAccessException {
+        Map<Object, Object> map = factory.get();
+
+        if (keyType != null && valueType != null) {
+            int size = nextLength(random);
+
+            Object[] entries = generateSiblings(
+                    repeat(r -> new Object[]{
+                            generateValueOfType(keyType, depth + 1, r),
+                            generateValueOfType(valueType, depth + 1, r)
+                    }, size),
+                    isLeaf(keyType) && isLeaf(valueType),
+                    random
+            );
+            for (Object entry : entries) {
+                Object[] keyAndValue = (Object[]) entry;
+                map.put(keyAndValue[0], keyAndValue[1]);
             }
         }
 
-        return collection;
+        return map;
     }
 
-    private Map<?, ?> generateMapFromField(
-            Field mapField,
-            int depth
+    /**
+     * Types drawn straight from the stream, not worth a task or a stream of their own.
+     */
+    private boolean isLeaf(Class<?> type) {
+        return isLeaf(plans.get(type));
+    }
+
+    private static boolean isLeaf(GenerationPlan plan) {
+        return plan instanceof Simple || plan instanceof EnumConstants || plan instanceof PrimitiveArrayOf;
+    }
+
+    private static Sibling[] repeat(Sibling sibling, int times) {
+        Sibling[] result = new Sibling[times];
+        Arrays.fill(result, sibling);
+        return result;
+    }
+
+    /**
+     * Generates independent parts of one value, in order. Sequentially all of them draw from {@code random}.
+     * In parallel mode every part gets a stream split off {@code random} up front, unless all of them are leaves,
+     * and parts are forked while the pool is short of work. Which parts are forked does not affect the result.
+     */
+    private Object[] generateSiblings(
+            Sibling[] siblings,
+            boolean leaves,
+            RandomGenerator random
     ) throws GenerationException, InvocationTargetException, InstantiationException, IllegalAccessException {
-        Type genericType = mapField.getGenericType();
-        Map<Object, Object> map = generateMapFromClass(mapField.getType());
+        Object[] results = new Object[siblings.length];
 
-        if (genericType instanceof ParameterizedType parameterizedType) {
-            Type[] typeArgs = parameterizedType.getActualTypeArguments();
+        if (forkJoinPool == null || leaves) {
+            for (int i = 0; i < siblings.length; i++) {
+                results[i] = siblings[i].generate(random);
+            }
+            return results;
+        }
 
-            if (typeArgs.length == 2 &&
-                    typeArgs[0] instanceof Class<?> keyType &&
-                    typeArgs[1] instanceof Class<?> valueType) {
+        RandomGenerator[] streams = new RandomGenerator[siblings.length];
+        for (int i = 0; i < siblings.length; i++) {
+            streams[i] = random instanceof RandomGenerator.SplittableGenerator splittable
+                    ? splittable.split()
+                    : new SplittableRandom(random.nextLong());
+        }
 
-                int size = random.nextInt(1, 10);
+        SiblingTask[] forked = new SiblingTask[siblings.length];
+        try {
+            for (int i = 0; i < siblings.length; i++) {
+                boolean fork = i < siblings.length - 1 &&
+                        ForkJoinTask.getPool() == forkJoinPool &&
+                        ForkJoinTask.getSurplusQueuedTaskCount() < MAX_SURPLUS_TASKS;
+
+                if (fork) {
+                    forked[i] = new SiblingTask(siblings[i], streams[i]);
+                    forked[i].fork();
+                } else {
+                    results[i] = siblings[i].generate(streams[i]);
+                }
+            }
 
-                for (int i = 0; i < size; i++) {
-                    Object key = generateValueOfType(keyType, depth + 1);
-                    Object value = generateValueOfType(valueType, depth + 1);
-                    map.put(key, value);
+            for (int i = siblings.length - 1; i >= 0; i--) {
+                if (forked[i] != null) {
+                    results[i] = forked[i].joinValue();
                 }
             }
+        } catch (Throwable e) {
+            // the value is lost, parts not started yet are not generated for nothing
+            for (SiblingTask task : forked) {
+                if (task != null) {
+                    task.cancel(false);
+                }
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    /**
+     * Failures of the constructors of a {@link CommonClass}, counted until a constructor worked once. A constructor
+     * that failed {@value #ALWAYS_FAILING_AFTER} times and never worked is taken to always fail.
+     */
+    private static final class ConstructorFailures {
+
+        private static final int ALWAYS_FAILING_AFTER = 16;
+        private static final int WORKED = -1;
+
+        private final AtomicIntegerArray failures;
+
+        ConstructorFailures(int constructors) {
+            failures = new AtomicIntegerArray(constructors);
         }
 
-        return map;
+        /**
+         * @return bit {@code i} set if constructor {@code i} always fails, only for the first 64 constructors
+         */
+        long alwaysFailing() {
+            long result = 0;
+            for (int i = 0; i < Math.min(failures.length(), Long.SIZE); i++) {
+                if (failures.get(i) >= ALWAYS_FAILING_AFTER) {
+                    result |= 1L << i;
+                }
+            }
+            return result;
+        }
+
+        void succeeded(int index) {
+            if (failures.get(index) != WORKED) {
+                failures.set(index, WORKED);
+            }
+        }
+
+        void failed(int index) {
+            failures.getAndUpdate(index, n -> n == WORKED || n >= ALWAYS_FAILING_AFTER ? n : n + 1);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Sibling {
+        Object generate(
+                RandomGenerator random
+        ) throws GenerationException, InvocationTargetException, InstantiationException, IllegalAccessException;
+    }
+
+    /**
+     * Keeps the checked exceptions of a sibling to rethrow them as they are on join.
+     */
+    private static final class SiblingTask extends RecursiveTask<Object> {
+
+        private final Sibling sibling;
+        private final RandomGenerator random;
+        private Exception failure;
+
+        SiblingTask(Sibling sibling, RandomGenerator random) {
+            this.sibling = sibling;
+            this.random = random;
+        }
+
+        @Override
+        protected Object compute() {
+            try {
+                return sibling.generate(random);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                failure = e;
+                return null;
+            }
+        }
+
+        Object joinValue(
+        ) throws GenerationException, InvocationTargetException, InstantiationException, IllegalAccessException {
+            Object value = join();
+
+            switch (failure) {
+                case null -> {
+                    return value;
+                }
+                case GenerationException e -> throw e;
+                case InvocationTargetException e -> throw e;
+                case InstantiationException e -> throw e;
+                case IllegalAccessException e -> throw e;
+                default -> throw new IllegalStateException(failure);
+            }
+        }
+    }
+
+    /**
+     * Context of a single generation, bound to the random stream of the thread running it.
+     */
+    private final class Context implements GenerationContext {
+
+        private final RandomGenerator random;
+
+        Context(RandomGenerator random) {
+            this.random = random;
+        }
+
+        @Override
+        public Object generate(
+                Class<?> type,
+                int depth
+        ) throws InvocationTargetException, InstantiationException, IllegalAccessException, GenerationException {
+            return generateValueOfType(type, depth, random);
+        }
+
+        @Override
+        public Object generateCollection(
+                Class<?> collectionType,
+                Class<?> elementType,
+                int depth
+        ) throws InvocationTargetException, InstantiationException, IllegalAccessException, GenerationException {
+            if (!(plans.get(collectionType) instanceof CollectionOf collectionOf)) {
+                throw new GenerationException(collectionType.getName() + " is not a collection");
+            }
+            return Generator.this.generateCollection(collectionOf.factory(), elementType, depth, random);
+        }
+
+        @Override
+        public Object generateMap(
+                Class<?> mapType,
+                Class<?> keyType,
+                Class<?> valueType,
+                int depth
+        ) throws InvocationTargetException, InstantiationException, IllegalAccessException, GenerationException {
+            if (!(plans.get(mapType) instanceof MapOf mapOf)) {
+                throw new GenerationException(mapType.getName() + " is not a map");
+            }
+            return Generator.this.generateMap(mapOf.factory(), keyType, valueType, depth, random);
+        }
+
+        @Override
+        public Object generateImplementation(
+                Class<?> interfaceType,
+                List<Class<?>> implementations,
+                int depth
+        ) throws InvocationTargetException, InstantiationException, IllegalAccessException, GenerationException {
+            ImplementationChooser chooser = staticImplementations.computeIfAbsent(interfaceType, type ->
+                    type.getPackageName().startsWith(packageToScan)
+                            ? ImplementationChooser.of(implementations.stream()
+                            .filter(c -> c.getPackageName().startsWith(packageToScan))
+                            .toList())
+                            : ImplementationChooser.empty()
+            );
+            return Generator.this.generateImplementation(interfaceType, chooser, depth, random);
+        }
     }
 }
@@ -0,0 +1,78 @@
+package org.example.generator;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import org.example.generator.access.AccessBackend;
+
+/**
+ * @param staticGenerators use {@link StaticGenerator}s produced by the annotation processor when they are present,
+ *                         off by default: they call setters and a single constructor, and resolve interfaces from
+ *                         the implementations seen at compile time
+ * @param seed             root seed of the random streams of the generator, {@code null} for a random one
+ * @param forkJoinPool     pool to generate independent parts of a value on, {@code null} to generate on the
+ *                         calling thread
+ * @param minLength        least length of generated arrays, collections and maps
+ * @param maxLength        greatest length of generated arrays, collections and maps, inclusive
+ * @param listener         observer of the generation, {@code null} for none
+ */
+public record GeneratorOptions(
+        AccessBackend accessBackend,
+        boolean staticGenerators,
+        Long seed,
+        ForkJoinPool forkJoinPool,
+        int minLength,
+        int maxLength,
+        GenerationListener listener
+) {
+
+    public GeneratorOptions {
+        Objects.requireNonNull(accessBackend, "accessBackend");
+
+        if (minLength < 0 || maxLength < minLength || maxLength == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "Lengths expected to be 0 <= minLength <= maxLength < " + Integer.MAX_VALUE + ", but got " +
+                            minLength + " and " + maxLength
+            );
+        }
+    }
+
+    public static GeneratorOptions defaults() {
+        return new GeneratorOptions(AccessBackend.REFLECTION, false, null, null, 1, 9, null);
+    }
+
+    public GeneratorOptions withAccessBackend(AccessBackend accessBackend) {
+        return new GeneratorOptions(
+                accessBackend, staticGenerators, seed, forkJoinPool, minLength, maxLength, listener
+        );
+    }
+
+    public GeneratorOptions withStaticGenerators(boolean staticGenerators) {
+        return new GeneratorOptions(
+                accessBackend, staticGenerators, seed, forkJoinPool, minLength, maxLength, listener
+        );
+    }
+
+    public GeneratorOptions withSeed(long seed) {
+        return new GeneratorOptions(
+                accessBackend, staticGenerators, seed, forkJoinPool, minLength, maxLength, listener
+        );
+    }
+
+    public GeneratorOptions withForkJoinPool(ForkJoinPool forkJoinPool) {
+        return new GeneratorOptions(
+                accessBackend, staticGenerators, seed, forkJoinPool, minLength, maxLength, listener
+        );
+    }
+
+    public GeneratorOptions withLengths(int minLength, int maxLength) {
+        return new GeneratorOptions(
+                accessBackend, staticGenerators, seed, forkJoinPool, minLength, maxLength, listener
+        );
+    }
+
+    public GeneratorOptions withListener(GenerationListener listener) {
+        return new GeneratorOptions(
+                accessBackend, staticGenerators, seed, forkJoinPool, minLength, maxLength, listener
+        );
+    }
+}
@@ -0,0 +1,156 @@
+package org.example.generator;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Endless publisher of generated values, see {@link Generator#publisher}. Every subscription generates only what
+ * was requested, a batch of at most {@value #MAX_BATCH} values at a time, and hands the executor back between
+ * batches so that subscriptions progress side by side.
+ */
+final class GeneratorPublisher<T> implements Flow.Publisher<T> {
+
+    static final int MAX_BATCH = 256;
+
+    private final Generator generator;
+    private final Class<T> type;
+    private final Executor executor;
+
+    GeneratorPublisher(Generator generator, Class<T> type, Executor executor) {
+        this.generator = generator;
+        this.type = type;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+
+        Subscription subscription = new Subscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        subscription.start();
+    }
+
+    private final class Subscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        /**
+         * Set while a drain is queued or running, only one at a time calls the subscriber.
+         */
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        /**
+         * Failure of an invalid request, signalled by the drain so that it never overlaps {@code onNext}.
+         */
+        private final AtomicReference<Throwable> invalidRequest = new AtomicReference<>();
+        private volatile boolean cancelled;
+        /**
+         * Set once {@code onSubscribe} returned, requests made inside it are only served then.
+         */
+        private volatile boolean started;
+
+        Subscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest.compareAndSet(null, new IllegalArgumentException(
+                        "request expected to be positive, but got " + n
+                ));
+            } else {
+                demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private void start() {
+            started = true;
+            if (invalidRequest.get() != null || demand.get() > 0) {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            if (!started || cancelled || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                fail(e);
+            }
+        }
+
+        private void drain() {
+            try {
+                emit();
+            } catch (RuntimeException | Error e) {
+                // a subscriber that throws is considered to have cancelled
+                cancelled = true;
+                throw e;
+            } finally {
+                scheduled.set(false);
+            }
+
+            // demand may have come in after it was read, the request saw the drain still scheduled then
+            if (invalidRequest.get() != null || demand.get() > 0) {
+                schedule();
+            }
+        }
+
+        private void emit() {
+            Throwable invalid = invalidRequest.get();
+            if (invalid != null) {
+                fail(invalid);
+                return;
+            }
+
+            long requested = demand.get();
+            if (cancelled || requested <= 0) {
+                return;
+            }
+
+            int batch = (int) Math.min(requested, MAX_BATCH);
+            List<T> values;
+            try {
+                values = generator.generateMany(type, batch);
+            } catch (Exception e) {
+                fail(e);
+                return;
+            }
+
+            for (T value : values) {
+                if (cancelled) {
+                    return;
+                }
+                subscriber.onNext(value);
+            }
+
+            if (requested != Long.MAX_VALUE) {
+                demand.addAndGet(-batch);
+            }
+        }
+
+        private void fail(Throwable failure) {
+            if (!cancelled) {
+                cancelled = true;
+                subscriber.onError(failure);
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.generator;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks one of the implementations of an interface in constant time. Implementations are chosen uniformly unless
+ * their {@link Generatable#weight()} differ, then Vose's alias method is used: every slot holds the probability of
+ * keeping its own class and the class to take otherwise.
+ */
+final class ImplementationChooser {
+
+    private static final ImplementationChooser EMPTY = new ImplementationChooser(new Class<?>[0], null, null);
+
+    private final Class<?>[] implementations;
+    /**
+     * {@code null} for the uniform choice.
+     */
+    private final double[] probabilities;
+    private final int[] aliases;
+
+    private ImplementationChooser(Class<?>[] implementations, double[] probabilities, int[] aliases) {
+        this.implementations = implementations;
+        this.probabilities = probabilities;
+        this.aliases = aliases;
+    }
+
+    static ImplementationChooser empty() {
+        return EMPTY;
+    }
+
+    static ImplementationChooser of(List<Class<?>> implementations) {
+        if (implementations.isEmpty()) {
+            return EMPTY;
+        }
+
+        Class<?>[] classes = implementations.toArray(new Class<?>[0]);
+        double[] weights = new double[classes.length];
+        boolean uniform = true;
+
+        for (int i = 0; i < classes.length; i++) {
+            Generatable annotation = classes[i].getAnnotation(Generatable.class);
+            weights[i] = annotation == null ? 1.0 : annotation.weight();
+
+            if (!(weights[i] > 0) || Double.isInfinite(weights[i])) {
+                throw new IllegalArgumentException(
+                        "Weight of " + classes[i].getName() + " expected to be positive, but got " + weights[i]
+                );
+            }
+            uniform &= weights[i] == weights[0];
+        }
+
+        if (uniform) {
+            return new ImplementationChooser(classes, null, null);
+        }
+        return aliasTable(classes, weights);
+    }
+
+    private static ImplementationChooser aliasTable(Class<?>[] classes, double[] weights) {
+        int n = classes.length;
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+
+        double[] scaled = new double[n];
+        Deque<Integer> small = new ArrayDeque<>();
+        Deque<Integer> large = new ArrayDeque<>();
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            (scaled[i] < 1 ? small : large).push(i);
+        }
+
+        double[] probabilities = new double[n];
+        int[] aliases = new int[n];
+        while (!small.isEmpty() && !large.isEmpty()) {
+            int less = small.pop();
+            int more = large.pop();
+
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+
+            scaled[more] = scaled[more] + scaled[less] - 1;
+            (scaled[more] < 1 ? small : large).push(more);
+        }
+        // what is left is 1 up to rounding errors
+        while (!large.isEmpty()) {
+            probabilities[large.pop()] = 1;
+        }
+        while (!small.isEmpty()) {
+            probabilities[small.pop()] = 1;
+        }
+
+        return new ImplementationChooser(classes, probabilities, aliases);
+    }
+
+    boolean isEmpty() {
+        return implementations.length == 0;
+    }
+
+    Class<?> choose(RandomGenerator random) {
+        int slot = random.nextInt(implementations.length);
+        if (probabilities == null || random.nextDouble() < probabilities[slot]) {
+            return implementations[slot];
+        }
+        return implementations[aliases[slot]];
+    }
+}
@@ -5,11 +5,20 @@ import java.io.IOException;
 import java.net.JarURLConnection;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import org.example.generator.jfr.GenerationEvents;
+import org.example.generator.jfr.PackageScanEvent;
+import org.example.generator.scan.ClassFileInfo;
+import org.example.generator.scan.GeneratableIndex;
+import org.example.generator.scan.ScanCache;
 
 public final class PackageUtils {
 
@@ -23,20 +32,100 @@ public final class PackageUtils {
         String path = packageName.replace('.', '/');
         Enumeration<URL> resources = classLoader.getResources(path);
 
+        while (resources.hasMoreElements()) {
+            scanResource(resources.nextElement(), packageName, classes, classLoader);
+        }
+
+        return classes;
+    }
+
+    /**
+     * Finds {@code @Generatable} classes in the package, loading nothing else. Classpath roots that carry a
+     * {@link GeneratableIndex} are not scanned at all, other roots are scanned in parallel by reading class files
+     * directly, unless {@link ScanCache#shared()} holds an up-to-date result for them.
+     */
+    public static Set<Class<?>> getGeneratableClassesInPackage(String packageName, ClassLoader classLoader)
+            throws IOException, URISyntaxException {
+        return getGeneratableClassesInPackage(packageName, classLoader, ScanCache.shared());
+    }
+
+    /**
+     * Same as {@link #getGeneratableClassesInPackage(String, ClassLoader)}, with the given cache of scan results.
+     */
+    public static Set<Class<?>> getGeneratableClassesInPackage(
+            String packageName,
+            ClassLoader classLoader,
+            ScanCache cache
+    ) throws IOException, URISyntaxException {
+        PackageScanEvent event = GenerationEvents.beginScan();
+        Map<String, GeneratableIndex> indexes = GeneratableIndex.loadAll(classLoader);
+        Set<Class<?>> classes = new HashSet<>();
+        String path = packageName.replace('.', '/');
+        Enumeration<URL> resources = classLoader.getResources(path);
+
+        List<URL> unindexed = new ArrayList<>();
+
         while (resources.hasMoreElements()) {
             URL resource = resources.nextElement();
-            if ("file".equals(resource.getProtocol())) {
-                File directory = new File(resource.toURI());
-                scanDirectory(directory, packageName, classes, classLoader);
-            } else if ("jar".equals(resource.getProtocol())) {
-                JarFile jar = ((JarURLConnection) resource.openConnection()).getJarFile();
-                scanJar(jar, packageName, classes, classLoader);
+            GeneratableIndex index = indexes.get(rootOf(resource, path));
+
+            if (index == null) {
+                unindexed.add(resource);
+                continue;
+            }
+
+            for (GeneratableIndex.Entry entry : index.entriesInPackage(packageName)) {
+                loadInto(entry.className(), classes, classLoader);
+            }
+        }
+
+        if (!unindexed.isEmpty()) {
+            Map<URL, List<ClassFileInfo>> scanned = cache.scan(
+                    unindexed,
+                    packageName,
+                    ForkJoinPool.commonPool()
+            );
+
+            for (List<ClassFileInfo> infos : scanned.values()) {
+                for (ClassFileInfo info : infos) {
+                    if (info.isAnnotatedWith(Generatable.class.getName())) {
+                        loadInto(info.className(), classes, classLoader);
+                    }
+                }
             }
         }
 
+        GenerationEvents.endScan(event, packageName, classes.size(), unindexed.size());
         return classes;
     }
 
+    private static void loadInto(String className, Set<Class<?>> classes, ClassLoader classLoader) {
+        try {
+            classes.add(classLoader.loadClass(className));
+        } catch (ClassNotFoundException e) {
+            // ignore
+        }
+    }
+
+    private static String rootOf(URL packageResource, String packagePath) {
+        String url = packageResource.toString();
+        if (url.endsWith("/")) {
+            url = url.substring(0, url.length() - 1);
+        }
+        return url.substring(0, url.length() - packagePath.length());
+    }
+
+    private static void scanResource(URL resource, String packageName, Set<Class<?>> classes, ClassLoader classLoader)
+            throws IOException, URISyntaxException {
+        if ("file".equals(resource.getProtocol())) {
+            File directory = new File(resource.toURI());
+            scanDirectory(directory, packageName, classes, classLoader);
+        } else if ("jar".equals(resource.getProtocol())) {
+            JarFile jar = ((JarURLConnection) resource.openConnection()).getJarFile();
+            scanJar(jar, packageName, classes, classLoader);
+        }
+    }
+
     private static void scanDirectory(File dir, String packageName, Set<Class<?>> classes, ClassLoader classLoader) {
         File[] files = dir.listFiles();
         if (files == null) return;
@@ -0,0 +1,28 @@
+package org.example.generator;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Generator for a single {@code @Generatable} type compiled ahead of time by
+ * {@link org.example.generator.processor.GeneratableProcessor}.
+ * {@link Generator} uses it instead of reflection when it is found next to the type.
+ */
+public interface StaticGenerator<T> {
+
+    String CLASS_NAME_SUFFIX = "Generator";
+
+    T generate(
+            GenerationContext context,
+            int depth
+    ) throws InvocationTargetException, InstantiationException, IllegalAccessException, GenerationException;
+
+    /**
+     * {@code org.example.Outer$Inner} becomes {@code org.example.Outer_InnerGenerator}.
+     */
+    static String classNameFor(String binaryName) {
+        int lastDot = binaryName.lastIndexOf('.');
+        return binaryName.substring(0, lastDot + 1) +
+                binaryName.substring(lastDot + 1).replace('$', '_') +
+                CLASS_NAME_SUFFIX;
+    }
+}
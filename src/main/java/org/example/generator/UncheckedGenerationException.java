@@ -0,0 +1,10 @@
+package org.example.generator;
+
+/**
+ * Wraps a checked failure of generation where it cannot be thrown as is, e.g. out of a {@link java.util.stream.Stream}.
+ */
+public class UncheckedGenerationException extends RuntimeException {
+    public UncheckedGenerationException(Exception cause) {
+        super(cause.getMessage(), cause);
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.generator.access;
+
+public enum AccessBackend {
+    REFLECTION {
+        @Override
+        public AccessStrategy createStrategy() {
+            return new ReflectionAccessStrategy();
+        }
+    },
+    METHOD_HANDLES {
+        @Override
+        public AccessStrategy createStrategy() {
+            return new MethodHandleAccessStrategy();
+        }
+    },
+    CODEGEN {
+        @Override
+        public AccessStrategy createStrategy() {
+            return new CodegenAccessStrategy();
+        }
+    },
+    ;
+
+    public abstract AccessStrategy createStrategy();
+}
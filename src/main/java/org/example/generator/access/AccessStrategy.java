@@ -0,0 +1,18 @@
+package org.example.generator.access;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+
+/**
+ * Creates the accessors used by generation plans. Accessors are created once per member and invoked for every
+ * generated instance, so implementations may do expensive work up front.
+ */
+public interface AccessStrategy {
+
+    InstanceFactory factoryFor(Constructor<?> constructor);
+
+    /**
+     * @param field non-static, non-final field that has already been made accessible
+     */
+    FieldWriter writerFor(Field field);
+}
@@ -0,0 +1,214 @@
+package org.example.generator.access;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.field.FieldDescription;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
+import net.bytebuddy.implementation.bytecode.Duplication;
+import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.TypeCreation;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.implementation.bytecode.assign.TypeCasting;
+import net.bytebuddy.implementation.bytecode.collection.ArrayAccess;
+import net.bytebuddy.implementation.bytecode.constant.IntegerConstant;
+import net.bytebuddy.implementation.bytecode.member.FieldAccess;
+import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
+import net.bytebuddy.implementation.bytecode.member.MethodReturn;
+import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+
+/**
+ * Emits a hidden nestmate class of the generated type for every constructor and field, which calls the constructor
+ * or assigns the field directly, so no reflection is involved once the accessor exists. Writers of primitive fields
+ * also implement the matching primitive setter of {@link FieldWriter}, which assigns without boxing.
+ * Anything that cannot be compiled or defined (e.g. the type's class loader does not see this package)
+ * falls back to {@link ReflectionAccessStrategy}.
+ * <p>
+ * Only member access is compiled. Arguments and field values are still generated by the plan of the type, through
+ * the type generators and nested plans, and passed to the accessors boxed in an array.
+ */
+public class CodegenAccessStrategy implements AccessStrategy {
+
+    private static final TypeDescription.Generic OBJECT = TypeDescription.ForLoadedType.of(Object.class).asGenericType();
+
+    private final ByteBuddy byteBuddy = new ByteBuddy();
+    private final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    private final ReflectionAccessStrategy fallback = new ReflectionAccessStrategy();
+
+    @Override
+    public InstanceFactory factoryFor(Constructor<?> constructor) {
+        InstanceFactory compiled;
+        try {
+            compiled = define(
+                    constructor.getDeclaringClass(),
+                    "$$GeneratedFactory",
+                    InstanceFactory.class,
+                    Map.of("newInstance", newInstanceCode(constructor))
+            );
+        } catch (Exception | LinkageError e) {
+            return fallback.factoryFor(constructor);
+        }
+
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        return args -> {
+            try {
+                return compiled.newInstance(args);
+            } catch (Throwable t) {
+                // same contract as Constructor.newInstance, the arguments are only checked once something failed
+                if (!matches(parameterTypes, args)) {
+                    throw new IllegalArgumentException("argument type mismatch", t);
+                }
+                throw new InvocationTargetException(t);
+            }
+        };
+    }
+
+    private static boolean matches(Class<?>[] parameterTypes, Object[] args) {
+        if (args.length != parameterTypes.length) {
+            return false;
+        }
+        for (int i = 0; i < args.length; i++) {
+            Class<?> type = parameterTypes[i];
+            boolean matches = args[i] == null
+                    ? !type.isPrimitive()
+                    : MethodType.methodType(type).wrap().returnType().isInstance(args[i]);
+            if (!matches) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public FieldWriter writerFor(Field field) {
+        Map<String, StackManipulation> methods = new HashMap<>();
+        methods.put("set", setCode(field));
+        if (field.getType().isPrimitive()) {
+            methods.put(primitiveSetterName(field.getType()), primitiveSetCode(field));
+        }
+
+        try {
+            return define(
+                    field.getDeclaringClass(),
+                    "$$GeneratedWriter$" + field.getName(),
+                    FieldWriter.class,
+                    methods
+            );
+        } catch (Exception | LinkageError e) {
+            return fallback.writerFor(field);
+        }
+    }
+
+    /**
+     * {@code return new Type((P0) args[0], (P1) args[1], ...);} with unboxing for primitive parameters.
+     */
+    private static StackManipulation newInstanceCode(Constructor<?> constructor) {
+        MethodDescription.InDefinedShape description = new MethodDescription.ForLoadedConstructor(constructor);
+
+        List<StackManipulation> code = new ArrayList<>();
+        code.add(TypeCreation.of(TypeDescription.ForLoadedType.of(constructor.getDeclaringClass())));
+        code.add(Duplication.SINGLE);
+
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            code.add(MethodVariableAccess.REFERENCE.loadFrom(1));
+            code.add(IntegerConstant.forValue(i));
+            code.add(ArrayAccess.REFERENCE.load());
+            code.add(castFromObject(parameterTypes[i]));
+        }
+
+        code.add(MethodInvocation.invoke(description));
+        code.add(MethodReturn.REFERENCE);
+        return new StackManipulation.Compound(code);
+    }
+
+    /**
+     * {@code ((Type) instance).field = (F) value;} with unboxing for primitive fields.
+     */
+    private static StackManipulation setCode(Field field) {
+        return new StackManipulation.Compound(
+                MethodVariableAccess.REFERENCE.loadFrom(1),
+                TypeCasting.to(TypeDescription.ForLoadedType.of(field.getDeclaringClass())),
+                MethodVariableAccess.REFERENCE.loadFrom(2),
+                castFromObject(field.getType()),
+                FieldAccess.forField(new FieldDescription.ForLoadedField(field)).write(),
+                MethodReturn.VOID
+        );
+    }
+
+    /**
+     * {@code ((Type) instance).field = value;} for the {@link FieldWriter} setter of the field's primitive type.
+     */
+    private static StackManipulation primitiveSetCode(Field field) {
+        return new StackManipulation.Compound(
+                MethodVariableAccess.REFERENCE.loadFrom(1),
+                TypeCasting.to(TypeDescription.ForLoadedType.of(field.getDeclaringClass())),
+                MethodVariableAccess.of(TypeDescription.ForLoadedType.of(field.getType())).loadFrom(2),
+                FieldAccess.forField(new FieldDescription.ForLoadedField(field)).write(),
+                MethodReturn.VOID
+        );
+    }
+
+    private static String primitiveSetterName(Class<?> type) {
+        String name = type.getName();
+        return "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static StackManipulation castFromObject(Class<?> type) {
+        StackManipulation cast = Assigner.DEFAULT.assign(
+                OBJECT,
+                TypeDescription.ForLoadedType.of(type).asGenericType(),
+                Assigner.Typing.DYNAMIC
+        );
+        if (!cast.isValid()) {
+            throw new IllegalStateException("Cannot assign Object to " + type.getName());
+        }
+        return cast;
+    }
+
+    private <T> T define(
+            Class<?> target,
+            String suffix,
+            Class<T> accessorType,
+            Map<String, StackManipulation> methods
+    ) throws ReflectiveOperationException {
+        DynamicType.Builder<Object> builder = byteBuddy.subclass(Object.class)
+                .name(target.getName() + suffix)
+                .implement(accessorType);
+        for (Map.Entry<String, StackManipulation> method : methods.entrySet()) {
+            builder = builder.method(named(method.getKey()))
+                    .intercept(new Implementation.Simple(new ByteCodeAppender.Simple(method.getValue())));
+        }
+
+        byte[] bytes;
+        try (DynamicType.Unloaded<Object> unloaded = builder.make()) {
+            bytes = unloaded.getBytes();
+        }
+
+        MethodHandles.Lookup hiddenLookup = MethodHandles.privateLookupIn(target, lookup)
+                .defineHiddenClass(bytes, true, MethodHandles.Lookup.ClassOption.NESTMATE);
+
+        try {
+            return accessorType.cast(hiddenLookup
+                    .findConstructor(hiddenLookup.lookupClass(), MethodType.methodType(void.class))
+                    .invoke()
+            );
+        } catch (ReflectiveOperationException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+}
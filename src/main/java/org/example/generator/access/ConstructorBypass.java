@@ -0,0 +1,34 @@
+package org.example.generator.access;
+
+import java.lang.reflect.Constructor;
+import sun.reflect.ReflectionFactory;
+
+/**
+ * Allocates instances without running constructors of their class, the way deserialization does: the only
+ * constructor run is the one of {@link Object}, so all fields keep their default values, initializers included.
+ */
+public final class ConstructorBypass {
+
+    private static final Constructor<Object> OBJECT_CONSTRUCTOR;
+
+    static {
+        try {
+            OBJECT_CONSTRUCTOR = Object.class.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private ConstructorBypass() {
+    }
+
+    /**
+     * Arguments passed to the factory are ignored. The constructor cannot go through the other access strategies:
+     * method handles and generated code would call the constructor of {@link Object} on an {@link Object}.
+     */
+    public static InstanceFactory allocatorFor(Class<?> clazz) {
+        Constructor<?> allocator = ReflectionFactory.getReflectionFactory()
+                .newConstructorForSerialization(clazz, OBJECT_CONSTRUCTOR);
+        return args -> allocator.newInstance();
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.generator.access;
+
+/**
+ * Writes one field. The primitive setters are meant for fields of exactly that type and box by default;
+ * strategies override them to write without boxing.
+ */
+@FunctionalInterface
+public interface FieldWriter {
+    void set(Object instance, Object value) throws IllegalAccessException;
+
+    default void setBoolean(Object instance, boolean value) throws IllegalAccessException {
+        set(instance, value);
+    }
+
+    default void setByte(Object instance, byte value) throws IllegalAccessException {
+        set(instance, value);
+    }
+
+    default void setShort(Object instance, short value) throws IllegalAccessException {
+        set(instance, value);
+    }
+
+    default void setChar(Object instance, char value) throws IllegalAccessException {
+        set(instance, value);
+    }
+
+    default void setInt(Object instance, int value) throws IllegalAccessException {
+        set(instance, value);
+    }
+
+    default void setLong(Object instance, long value) throws IllegalAccessException {
+        set(instance, value);
+    }
+
+    default void setFloat(Object instance, float value) throws IllegalAccessException {
+        set(instance, value);
+    }
+
+    default void setDouble(Object instance, double value) throws IllegalAccessException {
+        set(instance, value);
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.generator.access;
+
+import java.lang.reflect.InvocationTargetException;
+
+@FunctionalInterface
+public interface InstanceFactory {
+    Object newInstance(Object[] args) throws InvocationTargetException, InstantiationException, IllegalAccessException;
+}
@@ -0,0 +1,223 @@
+package org.example.generator.access;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Invokes constructors through spreading {@link MethodHandle}s and writes fields through {@link VarHandle}s,
+ * both adapted to exact erased signatures once so that every call is an {@code invokeExact}.
+ * Members that cannot be looked up fall back to {@link ReflectionAccessStrategy}.
+ */
+public class MethodHandleAccessStrategy implements AccessStrategy {
+
+    private static final MethodType FACTORY_TYPE = MethodType.methodType(Object.class, Object[].class);
+    private static final MethodType WRITER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * {@code (Throwable) -> throw new InvocationTargetException(t)}
+     */
+    private static final MethodHandle THROW_WRAPPED;
+
+    static {
+        try {
+            THROW_WRAPPED = MethodHandles.filterArguments(
+                    MethodHandles.throwException(Object.class, InvocationTargetException.class),
+                    0,
+                    MethodHandles.lookup().findConstructor(
+                            InvocationTargetException.class,
+                            MethodType.methodType(void.class, Throwable.class)
+                    )
+            );
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    private final ReflectionAccessStrategy fallback = new ReflectionAccessStrategy();
+
+    @Override
+    public InstanceFactory factoryFor(Constructor<?> constructor) {
+        MethodHandle handle;
+        try {
+            handle = lookup.unreflectConstructor(constructor);
+        } catch (IllegalAccessException e) {
+            return fallback.factoryFor(constructor);
+        }
+
+        // only what the constructor throws is wrapped, failures of the argument conversions around it are not
+        MethodType type = handle.type().changeReturnType(Object.class);
+        MethodHandle wrapped = MethodHandles.catchException(
+                handle.asType(type),
+                Throwable.class,
+                MethodHandles.dropArguments(THROW_WRAPPED, 1, type.parameterList())
+        );
+        MethodHandle spread = wrapped
+                .asSpreader(Object[].class, constructor.getParameterCount())
+                .asType(FACTORY_TYPE);
+
+        return args -> {
+            try {
+                return (Object) spread.invokeExact(args);
+            } catch (InvocationTargetException | IllegalArgumentException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                // same contract as Constructor.newInstance for arguments of the wrong type
+                throw new IllegalArgumentException("argument type mismatch", t);
+            }
+        };
+    }
+
+    @Override
+    public FieldWriter writerFor(Field field) {
+        MethodHandle setter;
+        try {
+            setter = MethodHandles.privateLookupIn(field.getDeclaringClass(), lookup)
+                    .unreflectVarHandle(field)
+                    .toMethodHandle(VarHandle.AccessMode.SET);
+        } catch (IllegalAccessException e) {
+            return fallback.writerFor(field);
+        }
+
+        Class<?> type = field.getType();
+        return new VarHandleWriter(
+                setter.asType(WRITER_TYPE),
+                type.isPrimitive() ? setter.asType(MethodType.methodType(void.class, Object.class, type)) : null,
+                type
+        );
+    }
+
+    /**
+     * @param exact setter taking the unboxed value, only for primitive fields
+     */
+    private record VarHandleWriter(MethodHandle generic, MethodHandle exact, Class<?> type) implements FieldWriter {
+
+        @Override
+        public void set(Object instance, Object value) {
+            try {
+                generic.invokeExact(instance, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public void setBoolean(Object instance, boolean value) throws IllegalAccessException {
+            if (type != boolean.class) {
+                FieldWriter.super.setBoolean(instance, value);
+                return;
+            }
+            try {
+                exact.invokeExact(instance, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public void setByte(Object instance, byte value) throws IllegalAccessException {
+            if (type != byte.class) {
+                FieldWriter.super.setByte(instance, value);
+                return;
+            }
+            try {
+                exact.invokeExact(instance, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public void setShort(Object instance, short value) throws IllegalAccessException {
+            if (type != short.class) {
+                FieldWriter.super.setShort(instance, value);
+                return;
+            }
+            try {
+                exact.invokeExact(instance, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public void setChar(Object instance, char value) throws IllegalAccessException {
+            if (type != char.class) {
+                FieldWriter.super.setChar(instance, value);
+                return;
+            }
+            try {
+                exact.invokeExact(instance, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public void setInt(Object instance, int value) throws IllegalAccessException {
+            if (type != int.class) {
+                FieldWriter.super.setInt(instance, value);
+                return;
+            }
+            try {
+                exact.invokeExact(instance, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public void setLong(Object instance, long value) throws IllegalAccessException {
+            if (type != long.class) {
+                FieldWriter.super.setLong(instance, value);
+                return;
+            }
+            try {
+                exact.invokeExact(instance, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public void setFloat(Object instance, float value) throws IllegalAccessException {
+            if (type != float.class) {
+                FieldWriter.super.setFloat(instance, value);
+                return;
+            }
+            try {
+                exact.invokeExact(instance, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        public void setDouble(Object instance, double value) throws IllegalAccessException {
+            if (type != double.class) {
+                FieldWriter.super.setDouble(instance, value);
+                return;
+            }
+            try {
+                exact.invokeExact(instance, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        private static RuntimeException rethrow(Throwable t) {
+            if (t instanceof RuntimeException e) {
+                throw e;
+            }
+            if (t instanceof Error e) {
+                throw e;
+            }
+            return new IllegalStateException(t);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.generator.access;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+
+public class ReflectionAccessStrategy implements AccessStrategy {
+
+    @Override
+    public InstanceFactory factoryFor(Constructor<?> constructor) {
+        return constructor::newInstance;
+    }
+
+    @Override
+    public FieldWriter writerFor(Field field) {
+        return new ReflectiveFieldWriter(field);
+    }
+
+    /**
+     * Primitive setters go to the primitive {@link Field} setters, which do not box.
+     */
+    private record ReflectiveFieldWriter(Field field) implements FieldWriter {
+
+        @Override
+        public void set(Object instance, Object value) throws IllegalAccessException {
+            field.set(instance, value);
+        }
+
+        @Override
+        public void setBoolean(Object instance, boolean value) throws IllegalAccessException {
+            field.setBoolean(instance, value);
+        }
+
+        @Override
+        public void setByte(Object instance, byte value) throws IllegalAccessException {
+            field.setByte(instance, value);
+        }
+
+        @Override
+        public void setShort(Object instance, short value) throws IllegalAccessException {
+            field.setShort(instance, value);
+        }
+
+        @Override
+        public void setChar(Object instance, char value) throws IllegalAccessException {
+            field.setChar(instance, value);
+        }
+
+        @Override
+        public void setInt(Object instance, int value) throws IllegalAccessException {
+            field.setInt(instance, value);
+        }
+
+        @Override
+        public void setLong(Object instance, long value) throws IllegalAccessException {
+            field.setLong(instance, value);
+        }
+
+        @Override
+        public void setFloat(Object instance, float value) throws IllegalAccessException {
+            field.setFloat(instance, value);
+        }
+
+        @Override
+        public void setDouble(Object instance, double value) throws IllegalAccessException {
+            field.setDouble(instance, value);
+        }
+    }
+}
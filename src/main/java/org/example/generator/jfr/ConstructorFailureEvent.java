@@ -0,0 +1,30 @@
+package org.example.generator.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.example.generator.ConstructorFailure")
+@Label("Constructor Failure")
+@Description("Call of a constructor that threw, another constructor is tried next unless it was the last one")
+@Category("Generator")
+@Enabled(false)
+@StackTrace(false)
+public final class ConstructorFailureEvent extends Event {
+
+    @Label("Type")
+    String type;
+
+    @Label("Constructor")
+    String constructor;
+
+    @Label("Depth")
+    int depth;
+
+    @Label("Failure")
+    String failure;
+}
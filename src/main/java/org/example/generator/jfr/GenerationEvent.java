@@ -0,0 +1,28 @@
+package org.example.generator.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.example.generator.Generation")
+@Label("Generation")
+@Description("Generation of a value asked from the generator, nested values included")
+@Category("Generator")
+@Enabled(false)
+@StackTrace(false)
+public final class GenerationEvent extends Event {
+
+    @Label("Type")
+    String type;
+
+    @Label("Objects")
+    @Description("Values generated on the thread for this one, itself included")
+    long objects;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,130 @@
+package org.example.generator.jfr;
+
+import java.lang.reflect.Constructor;
+import jdk.jfr.Event;
+
+/**
+ * Emits the events of the generator. All of them are disabled by default; while they are, the generator only asks
+ * {@link #valuesRecorded()} per value, which reads the state of the event types.
+ */
+public final class GenerationEvents {
+
+    private static final GenerationEvent GENERATION = new GenerationEvent();
+    private static final SlowSubtreeEvent SLOW_SUBTREE = new SlowSubtreeEvent();
+    private static final ConstructorFailureEvent CONSTRUCTOR_FAILURE = new ConstructorFailureEvent();
+
+    /**
+     * Values generated so far by the thread while values are recorded, the objects of a value are the difference.
+     */
+    private static final ThreadLocal<long[]> VALUES = ThreadLocal.withInitial(() -> new long[1]);
+
+    private GenerationEvents() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Whether every value has to go through {@link #beginSubtree}: its objects are counted then.
+     */
+    public static boolean valuesRecorded() {
+        return GENERATION.isEnabled() || SLOW_SUBTREE.isEnabled();
+    }
+
+    public static boolean generationsRecorded() {
+        return GENERATION.isEnabled();
+    }
+
+    /**
+     * Starts the {@link GenerationEvent} of a value asked from the generator, the value itself is generated through
+     * {@link #beginSubtree} then.
+     */
+    public static Value beginGeneration(Class<?> type) {
+        GenerationEvent event = new GenerationEvent();
+        event.begin();
+        return new Value(event, type, 0, VALUES.get());
+    }
+
+    /**
+     * Starts the {@link SlowSubtreeEvent} of any value and counts it. Nested values generated on other threads in
+     * parallel mode are not counted as objects of the value.
+     */
+    public static Value beginSubtree(Class<?> type, int depth) {
+        SlowSubtreeEvent event = new SlowSubtreeEvent();
+        event.begin();
+        Value value = new Value(event, type, depth, VALUES.get());
+        value.values[0]++;
+        return value;
+    }
+
+    /**
+     * Constructor failures are instant events.
+     */
+    public static void constructorFailed(Class<?> type, Constructor<?> constructor, int depth, Throwable failure) {
+        if (!CONSTRUCTOR_FAILURE.isEnabled()) {
+            return;
+        }
+
+        ConstructorFailureEvent event = new ConstructorFailureEvent();
+        event.type = type.getName();
+        event.constructor = String.valueOf(constructor);
+        event.depth = depth;
+        event.failure = String.valueOf(failure);
+        event.commit();
+    }
+
+    public static PackageScanEvent beginScan() {
+        PackageScanEvent event = new PackageScanEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void endScan(PackageScanEvent event, String packageName, int classes, int scannedRoots) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.packageName = packageName;
+            event.classes = classes;
+            event.scannedRoots = scannedRoots;
+            event.commit();
+        }
+    }
+
+    public static final class Value {
+
+        private final Event event;
+        private final Class<?> type;
+        private final int depth;
+        private final long[] values;
+        private final long first;
+
+        private Value(Event event, Class<?> type, int depth, long[] values) {
+            this.event = event;
+            this.type = type;
+            this.depth = depth;
+            this.values = values;
+            this.first = values[0];
+        }
+
+        public void end(boolean failed) {
+            event.end();
+            if (!event.shouldCommit()) {
+                return;
+            }
+
+            long objects = values[0] - first;
+            switch (event) {
+                case GenerationEvent generation -> {
+                    generation.type = type.getName();
+                    generation.objects = objects;
+                    generation.failed = failed;
+                }
+                case SlowSubtreeEvent slowSubtree -> {
+                    slowSubtree.type = type.getName();
+                    slowSubtree.depth = depth;
+                    slowSubtree.objects = objects;
+                    slowSubtree.failed = failed;
+                }
+                default -> throw new IllegalStateException("unreachable");
+            }
+            event.commit();
+        }
+    }
+}
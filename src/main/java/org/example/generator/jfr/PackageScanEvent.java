@@ -0,0 +1,29 @@
+package org.example.generator.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.example.generator.PackageScan")
+@Label("Package Scan")
+@Description("Search of the @Generatable classes of a package")
+@Category("Generator")
+@Enabled(false)
+@StackTrace(false)
+public final class PackageScanEvent extends Event {
+
+    @Label("Package")
+    String packageName;
+
+    @Label("Classes")
+    @Description("@Generatable classes found")
+    int classes;
+
+    @Label("Scanned Roots")
+    @Description("Classpath roots without an index, whose class files were read")
+    int scannedRoots;
+}
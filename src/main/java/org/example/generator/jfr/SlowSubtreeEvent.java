@@ -0,0 +1,37 @@
+package org.example.generator.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * The threshold is the usual setting of the event, e.g. {@code Recording.enable(SlowSubtreeEvent.class)
+ * .withThreshold(Duration.ofMillis(1))}.
+ */
+@Name("org.example.generator.SlowSubtree")
+@Label("Slow Subtree")
+@Description("Generation of a value, nested or not, that took longer than the threshold")
+@Category("Generator")
+@Enabled(false)
+@Threshold("10 ms")
+@StackTrace(false)
+public final class SlowSubtreeEvent extends Event {
+
+    @Label("Type")
+    String type;
+
+    @Label("Depth")
+    int depth;
+
+    @Label("Objects")
+    @Description("Values generated on the thread for this one, itself included")
+    long objects;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,236 @@
+package org.example.generator.prefetch;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import org.example.generator.GenerationException;
+import org.example.generator.Generator;
+import org.example.generator.UncheckedGenerationException;
+
+/**
+ * Keeps a bounded buffer of ready values per type, so that callers get a value without generating it inline.
+ * A buffer is created on the first request for its type and filled up to the high watermark by a virtual thread;
+ * whenever it drains to the low watermark another virtual thread fills it up again. Values come out in the order
+ * they were generated.
+ * <p>
+ * Failures of background generation are handed out in place of a value, as {@link UncheckedGenerationException}.
+ */
+public class PrefetchingGenerator implements AutoCloseable {
+
+    /**
+     * Stands for {@code null} values, which blocking queues do not hold.
+     */
+    private static final Object NULL = new Object();
+
+    private static final long CLOSE_CHECK_MILLIS = 50;
+
+    private final Generator generator;
+    private final int lowWatermark;
+    private final int highWatermark;
+
+    private final Map<Class<?>, Buffer> buffers = new ConcurrentHashMap<>();
+    private final ExecutorService refillers = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param lowWatermark  buffer size at which refilling starts
+     * @param highWatermark buffer size at which refilling stops, the capacity of the buffer
+     */
+    public PrefetchingGenerator(Generator generator, int lowWatermark, int highWatermark) {
+        if (highWatermark <= 0) {
+            throw new IllegalArgumentException("highWatermark expected to be more than 0, but got " + highWatermark);
+        }
+        if (lowWatermark < 0 || lowWatermark >= highWatermark) {
+            throw new IllegalArgumentException(
+                    "lowWatermark expected to be in [0, " + highWatermark + "), but got " + lowWatermark
+            );
+        }
+
+        this.generator = generator;
+        this.lowWatermark = lowWatermark;
+        this.highWatermark = highWatermark;
+    }
+
+    /**
+     * Starts filling the buffer of the type ahead of the first request.
+     */
+    public void prefetch(Class<?> type) throws GenerationException {
+        buffer(type);
+    }
+
+    /**
+     * @return a buffered value, or {@code null} if the buffer is empty
+     */
+    public <T> T poll(Class<T> type) throws GenerationException {
+        Buffer buffer = buffer(type);
+        Object value = buffer.values.poll();
+
+        if (value == null) {
+            misses.increment();
+            buffer.refillIfLow();
+            return null;
+        }
+
+        hits.increment();
+        buffer.refillIfLow();
+        return unwrap(type, value);
+    }
+
+    /**
+     * Waits for a value if the buffer is empty. Once closed, generates the value inline instead.
+     */
+    public <T> T take(Class<T> type) throws GenerationException, InterruptedException {
+        Buffer buffer = buffer(type);
+        Object value = buffer.values.poll();
+
+        if (value == null) {
+            misses.increment();
+            buffer.refillIfLow();
+            value = await(buffer);
+        } else {
+            hits.increment();
+        }
+
+        buffer.refillIfLow();
+        return unwrap(type, value);
+    }
+
+    private Object await(Buffer buffer) throws GenerationException, InterruptedException {
+        Object value = buffer.values.poll();
+
+        // nothing refills the buffer after close, the check period bounds how long a waiting take notices
+        while (value == null) {
+            if (refillers.isShutdown()) {
+                return generateInline(buffer.type);
+            }
+            value = buffer.values.poll(CLOSE_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        return value;
+    }
+
+    private Object generateInline(Class<?> type) throws GenerationException {
+        try {
+            Object value = generator.generateValueOfType(type);
+            return value == null ? NULL : value;
+        } catch (GenerationException e) {
+            throw e;
+        } catch (ReflectiveOperationException e) {
+            throw new GenerationException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Requests served from the buffer.
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Requests that found the buffer empty.
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Stops refilling. Values still buffered are handed out first, then {@link #take} generates inline.
+     */
+    @Override
+    public void close() {
+        refillers.shutdownNow();
+    }
+
+    private Buffer buffer(Class<?> type) throws GenerationException {
+        Buffer buffer = buffers.get(type);
+        if (buffer != null) {
+            return buffer;
+        }
+
+        // fails fast on types that cannot be generated at all instead of buffering failures for them
+        try {
+            generator.generateMany(type, 0);
+        } catch (GenerationException e) {
+            throw e;
+        } catch (ReflectiveOperationException e) {
+            throw new GenerationException(e.getMessage(), e);
+        }
+
+        buffer = buffers.computeIfAbsent(type, Buffer::new);
+        buffer.refillIfLow();
+        return buffer;
+    }
+
+    private static <T> T unwrap(Class<T> type, Object value) {
+        if (value == NULL) {
+            return null;
+        }
+        if (value instanceof Failure failure) {
+            throw new UncheckedGenerationException(failure.exception());
+        }
+
+        @SuppressWarnings("unchecked")
+        T result = (T) value;
+        return result;
+    }
+
+    private record Failure(Exception exception) {
+    }
+
+    private final class Buffer {
+
+        private final Class<?> type;
+        private final BlockingQueue<Object> values = new ArrayBlockingQueue<>(highWatermark);
+        private final AtomicBoolean refilling = new AtomicBoolean();
+
+        Buffer(Class<?> type) {
+            this.type = type;
+        }
+
+        void refillIfLow() {
+            if (values.size() > lowWatermark || !refilling.compareAndSet(false, true)) {
+                return;
+            }
+
+            try {
+                refillers.execute(this::refill);
+            } catch (RejectedExecutionException e) {
+                refilling.set(false);
+            }
+        }
+
+        private void refill() {
+            try {
+                while (values.remainingCapacity() > 0 && !Thread.currentThread().isInterrupted()) {
+                    Object value;
+                    try {
+                        value = generator.generateValueOfType(type);
+                    } catch (Exception e) {
+                        value = new Failure(e);
+                    }
+
+                    if (!values.offer(value == null ? NULL : value)) {
+                        break;
+                    }
+                }
+            } finally {
+                refilling.set(false);
+            }
+
+            // values taken after the last check of remaining capacity
+            if (!Thread.currentThread().isInterrupted()) {
+                refillIfLow();
+            }
+        }
+    }
+}
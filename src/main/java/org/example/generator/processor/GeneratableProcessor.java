@@ -0,0 +1,456 @@
+package org.example.generator.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+import com.sun.source.tree.AssignmentTree;
+import com.sun.source.tree.ExpressionStatementTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.StatementTree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.Trees;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import org.example.generator.Generatable;
+import org.example.generator.StaticGenerator;
+import org.example.generator.scan.GeneratableIndex;
+
+/**
+ * Writes a {@link StaticGenerator} next to every {@code @Generatable} class and interface, so {@link
+ * org.example.generator.Generator} can generate them without reflection. Classes get a direct constructor call
+ * followed by assignments (through setters for private fields) of the fields the constructor does not assign from
+ * its parameters, interfaces get a table of the {@code @Generatable} implementations seen during compilation.
+ * Types whose members cannot be reached from generated source are skipped and keep being generated reflectively,
+ * as are classes that bypass their constructors.
+ * <p>
+ * All {@code @Generatable} classes are also listed in a {@link GeneratableIndex}, so the classpath root does not
+ * have to be scanned at runtime.
+ */
+@SupportedAnnotationTypes(GeneratableProcessor.GENERATABLE)
+public class GeneratableProcessor extends AbstractProcessor {
+
+    static final String GENERATABLE = "org.example.generator.Generatable";
+
+    private static final String EXCEPTIONS = "java.lang.reflect.InvocationTargetException, InstantiationException, " +
+            "IllegalAccessException, org.example.generator.GenerationException";
+
+    private final Set<TypeElement> knownClasses = new LinkedHashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+            return false;
+        }
+
+        TypeElement generatable = processingEnv.getElementUtils().getTypeElement(GENERATABLE);
+        if (generatable == null) {
+            return false;
+        }
+
+        List<TypeElement> interfaces = new ArrayList<>();
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(generatable))) {
+            if (type.getKind() == ElementKind.INTERFACE) {
+                interfaces.add(type);
+            } else if (type.getKind() == ElementKind.CLASS) {
+                knownClasses.add(type);
+                writeClassGenerator(type);
+            }
+        }
+
+        for (TypeElement type : interfaces) {
+            writeInterfaceGenerator(type);
+        }
+
+        return false;
+    }
+
+    private void writeClassGenerator(TypeElement type) {
+        if (!isReachable(type) || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            skip(type, "type is abstract, private or an inner class");
+            return;
+        }
+
+        if (type.getAnnotation(Generatable.class).bypassConstructors()) {
+            skip(type, "constructors are bypassed");
+            return;
+        }
+
+        Optional<ExecutableElement> constructor = chooseConstructor(type);
+        if (constructor.isEmpty()) {
+            skip(type, "no non-private constructor");
+            return;
+        }
+
+        String typeName = erasure(type.asType());
+        StringBuilder body = new StringBuilder();
+
+        body.append("        ").append(typeName).append(" instance;\n");
+        // arguments are generated ahead, so that only what the constructor throws is wrapped below
+        List<String> args = new ArrayList<>();
+        for (VariableElement parameter : constructor.get().getParameters()) {
+            String arg = "arg" + args.size();
+            body.append("        var ").append(arg).append(" = ").append(generateFieldValue(parameter.asType()))
+                    .append(";\n");
+            args.add(arg);
+        }
+        String construction = "instance = new " + typeName + "(" + String.join(", ", args) + ");";
+        if (constructor.get().getThrownTypes().isEmpty()) {
+            body.append("        ").append(construction).append('\n');
+        } else {
+            body.append("        try {\n")
+                    .append("            ").append(construction).append('\n')
+                    .append("        } catch (Exception e) {\n")
+                    .append("            throw new java.lang.reflect.InvocationTargetException(e);\n")
+                    .append("        }\n");
+        }
+
+        Set<String> assigned = assignedFromParameters(constructor.get());
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.FINAL) ||
+                    assigned.contains(field.getSimpleName().toString())) {
+                continue;
+            }
+
+            String value = generateFieldValue(field.asType());
+            if (!modifiers.contains(Modifier.PRIVATE)) {
+                body.append("        instance.").append(field.getSimpleName()).append(" = ").append(value).append(";\n");
+                continue;
+            }
+
+            Optional<ExecutableElement> setter = findSetter(type, field);
+            if (setter.isEmpty()) {
+                skip(type, "private field '" + field.getSimpleName() + "' has no setter");
+                return;
+            }
+            body.append("        instance.").append(setter.get().getSimpleName())
+                    .append('(').append(value).append(");\n");
+        }
+
+        body.append("        return instance;\n");
+        write(type, typeName, body.toString(), "");
+    }
+
+    private void writeInterfaceGenerator(TypeElement type) {
+        if (!isReachable(type)) {
+            skip(type, "type is private");
+            return;
+        }
+
+        List<String> implementations = new ArrayList<>();
+        for (TypeElement candidate : knownClasses) {
+            if (!candidate.getModifiers().contains(Modifier.ABSTRACT) &&
+                    isReachable(candidate) &&
+                    isVisibleFrom(candidate, type) &&
+                    processingEnv.getTypeUtils().isAssignable(
+                            processingEnv.getTypeUtils().erasure(candidate.asType()),
+                            processingEnv.getTypeUtils().erasure(type.asType())
+                    )) {
+                implementations.add(erasure(candidate.asType()) + ".class");
+            }
+        }
+        implementations.sort(Comparator.naturalOrder());
+
+        if (implementations.isEmpty()) {
+            skip(type, "no @Generatable implementations");
+            return;
+        }
+
+        String typeName = erasure(type.asType());
+        String table = "    private static final java.util.List<Class<?>> IMPLEMENTATIONS = java.util.List.of(\n" +
+                "            " + String.join(",\n            ", implementations) + "\n" +
+                "    );\n\n";
+        String body = "        return (" + typeName + ") context.generateImplementation(" +
+                typeName + ".class, IMPLEMENTATIONS, depth);\n";
+        write(type, typeName, body, table);
+    }
+
+    private void writeIndex() {
+        if (knownClasses.isEmpty()) {
+            return;
+        }
+
+        List<GeneratableIndex.Entry> entries = new ArrayList<>();
+        for (TypeElement type : knownClasses) {
+            entries.add(new GeneratableIndex.Entry(binaryName(type)));
+        }
+        entries.sort(Comparator.comparing(GeneratableIndex.Entry::className));
+
+        try (Writer writer = processingEnv.getFiler().createResource(
+                StandardLocation.CLASS_OUTPUT,
+                "",
+                GeneratableIndex.LOCATION,
+                knownClasses.toArray(new Element[0])
+        ).openWriter()) {
+            new GeneratableIndex(entries).write(writer);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.ERROR,
+                    "Cannot write " + GeneratableIndex.LOCATION + ": " + e.getMessage()
+            );
+        }
+    }
+
+    private String binaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    private void write(TypeElement type, String typeName, String body, String members) {
+        String generatorName = StaticGenerator.classNameFor(binaryName(type));
+        int lastDot = generatorName.lastIndexOf('.');
+        String packageName = lastDot < 0 ? "" : generatorName.substring(0, lastDot);
+        String simpleName = generatorName.substring(lastDot + 1);
+
+        if (processingEnv.getElementUtils().getTypeElement(generatorName) != null) {
+            skip(type, generatorName + " already exists");
+            return;
+        }
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n")
+                .append("public final class ").append(simpleName)
+                .append(" implements org.example.generator.StaticGenerator<").append(typeName).append("> {\n\n")
+                .append(members)
+                .append("    @Override\n")
+                .append("    @SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("    public ").append(typeName).append(" generate(\n")
+                .append("            org.example.generator.GenerationContext context,\n")
+                .append("            int depth\n")
+                .append("    ) throws ").append(EXCEPTIONS).append(" {\n")
+                .append(body)
+                .append("    }\n")
+                .append("}\n");
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(generatorName, type).openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.ERROR,
+                    "Cannot write " + generatorName + ": " + e.getMessage(),
+                    type
+            );
+        }
+    }
+
+    private String generateValue(TypeMirror type) {
+        String erasure = erasure(type);
+        return "(" + erasure + ") context.generate(" + erasure + ".class, depth + 1)";
+    }
+
+    /**
+     * Mirrors field handling of reflective generation: collections and maps are created at the field's depth
+     * and filled only if their type arguments are plain classes.
+     */
+    private String generateFieldValue(TypeMirror type) {
+        String erasure = erasure(type);
+
+        if (isSubtypeOf(type, "java.util.Collection")) {
+            List<String> typeArgs = plainTypeArguments(type, 1);
+            return "(" + erasure + ") context.generateCollection(" + erasure + ".class, " +
+                    (typeArgs == null ? "null" : typeArgs.getFirst()) + ", depth)";
+        }
+
+        if (isSubtypeOf(type, "java.util.Map")) {
+            List<String> typeArgs = plainTypeArguments(type, 2);
+            return "(" + erasure + ") context.generateMap(" + erasure + ".class, " +
+                    (typeArgs == null ? "null, null" : typeArgs.get(0) + ", " + typeArgs.get(1)) + ", depth)";
+        }
+
+        return generateValue(type);
+    }
+
+    private List<String> plainTypeArguments(TypeMirror type, int count) {
+        if (!(type instanceof DeclaredType declaredType) || declaredType.getTypeArguments().size() != count) {
+            return null;
+        }
+
+        List<String> result = new ArrayList<>();
+        for (TypeMirror typeArg : declaredType.getTypeArguments()) {
+            if (!isPlainClass(typeArg)) {
+                return null;
+            }
+            result.add(erasure(typeArg) + ".class");
+        }
+        return result;
+    }
+
+    /**
+     * Whether the type is represented by a {@link Class} (and not a parameterized type, wildcard or type variable)
+     * at runtime.
+     */
+    private static boolean isPlainClass(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return true;
+        }
+        if (type instanceof ArrayType arrayType) {
+            return isPlainClass(arrayType.getComponentType());
+        }
+        return type instanceof DeclaredType declaredType && declaredType.getTypeArguments().isEmpty();
+    }
+
+    private Optional<ExecutableElement> chooseConstructor(TypeElement type) {
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+                .filter(c -> !c.getModifiers().contains(Modifier.PRIVATE))
+                .toList();
+
+        return constructors.stream()
+                .filter(c -> c.getModifiers().contains(Modifier.PUBLIC))
+                .findFirst()
+                .or(() -> constructors.stream().findFirst());
+    }
+
+    /**
+     * Fields the constructor assigns straight from a parameter in a top-level statement, {@code this.name = name;}
+     * or {@code name = parameter;}, before any statement that may branch. Parameters assigned to before and fields
+     * assigned again are not counted. Empty when the compiler does not expose syntax trees.
+     */
+    private Set<String> assignedFromParameters(ExecutableElement constructor) {
+        MethodTree tree;
+        try {
+            tree = Trees.instance(processingEnv).getTree(constructor);
+        } catch (IllegalArgumentException e) {
+            return Set.of();
+        }
+        if (tree == null || tree.getBody() == null) {
+            return Set.of();
+        }
+
+        Set<String> parameters = new HashSet<>();
+        constructor.getParameters().forEach(parameter -> parameters.add(parameter.getSimpleName().toString()));
+        Set<String> locals = new HashSet<>();
+        Set<String> result = new HashSet<>();
+
+        for (StatementTree statement : tree.getBody().getStatements()) {
+            if (statement instanceof VariableTree variable) {
+                locals.add(variable.getName().toString());
+                continue;
+            }
+            if (!(statement instanceof ExpressionStatementTree expression)) {
+                // assignments after a branch may not run
+                break;
+            }
+            if (!(expression.getExpression() instanceof AssignmentTree assignment)) {
+                continue;
+            }
+
+            String field = switch (assignment.getVariable()) {
+                case MemberSelectTree select when select.getExpression() instanceof IdentifierTree receiver &&
+                        receiver.getName().contentEquals("this") -> select.getIdentifier().toString();
+                case IdentifierTree identifier when !locals.contains(identifier.getName().toString()) &&
+                        !parameters.contains(identifier.getName().toString()) -> identifier.getName().toString();
+                case IdentifierTree identifier -> {
+                    // a parameter no longer holds the generated value once assigned to
+                    parameters.remove(identifier.getName().toString());
+                    yield null;
+                }
+                default -> null;
+            };
+
+            if (field != null && assignment.getExpression() instanceof IdentifierTree value &&
+                    parameters.contains(value.getName().toString())) {
+                result.add(field);
+            } else if (field != null) {
+                result.remove(field);
+            }
+        }
+        return result;
+    }
+
+    private Optional<ExecutableElement> findSetter(TypeElement type, VariableElement field) {
+        String name = field.getSimpleName().toString();
+        String setterName = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        TypeMirror fieldType = processingEnv.getTypeUtils().erasure(field.asType());
+
+        return ElementFilter.methodsIn(type.getEnclosedElements()).stream()
+                .filter(m -> m.getSimpleName().contentEquals(setterName))
+                .filter(m -> !m.getModifiers().contains(Modifier.PRIVATE) && !m.getModifiers().contains(Modifier.STATIC))
+                .filter(m -> m.getThrownTypes().isEmpty())
+                .filter(m -> m.getParameters().size() == 1)
+                .filter(m -> processingEnv.getTypeUtils().isSameType(
+                        processingEnv.getTypeUtils().erasure(m.getParameters().getFirst().asType()),
+                        fieldType
+                ))
+                .findFirst();
+    }
+
+    /**
+     * Top-level or static nested types that are not private (on any level), so a class in the same package
+     * can reference them.
+     */
+    private static boolean isReachable(TypeElement type) {
+        Element current = type;
+        while (current instanceof TypeElement typeElement) {
+            if (typeElement.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            Element enclosing = typeElement.getEnclosingElement();
+            if (enclosing instanceof TypeElement &&
+                    typeElement.getKind() == ElementKind.CLASS &&
+                    !typeElement.getModifiers().contains(Modifier.STATIC)) {
+                return false;
+            }
+            current = enclosing;
+        }
+        return current instanceof PackageElement;
+    }
+
+    private boolean isVisibleFrom(TypeElement type, TypeElement from) {
+        if (packageOf(type).equals(packageOf(from))) {
+            return true;
+        }
+
+        Element current = type;
+        while (current instanceof TypeElement typeElement) {
+            if (!typeElement.getModifiers().contains(Modifier.PUBLIC)) {
+                return false;
+            }
+            current = typeElement.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private String packageOf(TypeElement type) {
+        return processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+    }
+
+    private boolean isSubtypeOf(TypeMirror type, String superType) {
+        TypeElement superElement = processingEnv.getElementUtils().getTypeElement(superType);
+        return type.getKind() == TypeKind.DECLARED && processingEnv.getTypeUtils().isAssignable(
+                processingEnv.getTypeUtils().erasure(type),
+                processingEnv.getTypeUtils().erasure(superElement.asType())
+        );
+    }
+
+    private String erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private void skip(TypeElement type, String reason) {
+        processingEnv.getMessager().printMessage(
+                Diagnostic.Kind.NOTE,
+                "No static generator for " + type.getQualifiedName() + ": " + reason,
+                type
+        );
+    }
+}
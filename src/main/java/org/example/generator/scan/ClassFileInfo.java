@@ -0,0 +1,38 @@
+package org.example.generator.scan;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Header of a class file: names are binary names ({@code org.example.Outer$Inner}), {@code superName} is
+ * {@code null} for {@code java.lang.Object} and module descriptors, {@code interfaces} are the direct
+ * superinterfaces and {@code annotations} the runtime-visible annotations on the class.
+ */
+public record ClassFileInfo(
+        String className,
+        int accessFlags,
+        String superName,
+        List<String> interfaces,
+        Set<String> annotations
+) {
+
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_ABSTRACT = 0x0400;
+
+    public ClassFileInfo {
+        interfaces = List.copyOf(interfaces);
+        annotations = Set.copyOf(annotations);
+    }
+
+    public boolean isAnnotatedWith(String annotationName) {
+        return annotations.contains(annotationName);
+    }
+
+    public boolean isInterface() {
+        return (accessFlags & ACC_INTERFACE) != 0;
+    }
+
+    public boolean isAbstract() {
+        return (accessFlags & ACC_ABSTRACT) != 0;
+    }
+}
@@ -0,0 +1,492 @@
+package org.example.generator.scan;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads the parts of a class file needed for scanning (names, superinterfaces, runtime-visible class annotations)
+ * straight from the bytes, without defining the class. Constant pool strings are decoded only when referenced.
+ * {@link #constructorAssignments(byte[])} additionally walks the code of the constructors.
+ */
+public final class ClassFileParser {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+    private static final String CODE = "Code";
+    private static final String CONSTRUCTOR = "<init>";
+
+    private static final int ILOAD = 0x15;
+    private static final int ALOAD = 0x19;
+    private static final int ILOAD_0 = 0x1a;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_3 = 0x2d;
+    private static final int ISTORE = 0x36;
+    private static final int ASTORE = 0x3a;
+    private static final int ISTORE_0 = 0x3b;
+    private static final int ASTORE_3 = 0x4e;
+    private static final int IINC = 0x84;
+    private static final int IFEQ = 0x99;
+    private static final int JSR = 0xa8;
+    private static final int RET = 0xa9;
+    private static final int TABLESWITCH = 0xaa;
+    private static final int LOOKUPSWITCH = 0xab;
+    private static final int PUTFIELD = 0xb5;
+    private static final int INVOKEINTERFACE = 0xb9;
+    private static final int INVOKEDYNAMIC = 0xba;
+    private static final int WIDE = 0xc4;
+    private static final int MULTIANEWARRAY = 0xc5;
+    private static final int IFNULL = 0xc6;
+    private static final int IFNONNULL = 0xc7;
+    private static final int GOTO_W = 0xc8;
+    private static final int JSR_W = 0xc9;
+
+    private final ByteBuffer buffer;
+    /**
+     * Offset of the entry's payload (right after the tag) for every constant pool index.
+     */
+    private final int[] offsets;
+    private final String[] strings;
+
+    private ClassFileParser(ByteBuffer buffer) {
+        this.buffer = buffer;
+
+        if (buffer.getInt() != MAGIC) {
+            throw new ClassFormatError("Not a class file");
+        }
+        buffer.getShort(); // minor_version
+        buffer.getShort(); // major_version
+
+        int count = buffer.getShort() & 0xFFFF;
+        this.offsets = new int[count];
+        this.strings = new String[count];
+
+        for (int i = 1; i < count; i++) {
+            int tag = buffer.get() & 0xFF;
+            offsets[i] = buffer.position();
+
+            switch (tag) {
+                case CONSTANT_UTF8 -> skip(buffer.getShort() & 0xFFFF);
+                case CONSTANT_CLASS, CONSTANT_STRING, CONSTANT_METHOD_TYPE, CONSTANT_MODULE, CONSTANT_PACKAGE -> skip(2);
+                case CONSTANT_METHOD_HANDLE -> skip(3);
+                case CONSTANT_INTEGER, CONSTANT_FLOAT, CONSTANT_FIELDREF, CONSTANT_METHODREF,
+                     CONSTANT_INTERFACE_METHODREF, CONSTANT_NAME_AND_TYPE, CONSTANT_DYNAMIC,
+                     CONSTANT_INVOKE_DYNAMIC -> skip(4);
+                case CONSTANT_LONG, CONSTANT_DOUBLE -> {
+                    skip(8);
+                    i++;
+                }
+                default -> throw new ClassFormatError("Unknown constant pool tag " + tag + " at index " + i);
+            }
+        }
+    }
+
+    public static ClassFileInfo parse(byte[] bytes) {
+        return parse(ByteBuffer.wrap(bytes));
+    }
+
+    public static ClassFileInfo parse(ByteBuffer buffer) {
+        try {
+            return new ClassFileParser(buffer.slice()).parseHeader();
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new ClassFormatError("Truncated class file");
+        }
+    }
+
+    /**
+     * Fields of the class every constructor assigns straight from one of its parameters ({@code this.name = name;}),
+     * keyed by constructor descriptor, e.g. {@code (Ljava/lang/String;D)V}. Only assignments before the first branch
+     * and the first {@code try} block count, so that they run whenever the constructor returns; a parameter stored to
+     * before and a field assigned again anywhere in the constructor are not counted either. The result may miss
+     * fields, but does not list a field the constructor itself leaves holding something else.
+     */
+    public static Map<String, Set<String>> constructorAssignments(byte[] bytes) {
+        try {
+            return new ClassFileParser(ByteBuffer.wrap(bytes)).parseConstructorAssignments();
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new ClassFormatError("Truncated class file");
+        }
+    }
+
+    private Map<String, Set<String>> parseConstructorAssignments() {
+        skip(2); // access_flags
+        String className = className(u2());
+        skip(2); // super_class
+        skip(2 * u2()); // interfaces
+        skipMembers(); // fields
+
+        Map<String, Set<String>> result = new HashMap<>();
+        int methodsCount = u2();
+        for (int i = 0; i < methodsCount; i++) {
+            skip(2); // access_flags
+            String name = utf8(u2());
+            String descriptor = utf8(u2());
+
+            int attributesCount = u2();
+            for (int j = 0; j < attributesCount; j++) {
+                String attribute = utf8(u2());
+                int length = buffer.getInt();
+                int end = buffer.position() + length;
+                if (CONSTRUCTOR.equals(name) && CODE.equals(attribute)) {
+                    result.put(descriptor, assignedParameters(className, parameterSlots(descriptor)));
+                }
+                buffer.position(end);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Matches {@code aload_0, xload <parameter>, putfield <field of this class>} in the straight-line start of the
+     * code attribute at the current position.
+     */
+    private Set<String> assignedParameters(String className, int parameterSlots) {
+        skip(4); // max_stack, max_locals
+        int length = buffer.getInt();
+        int start = buffer.position();
+
+        BitSet jumpTargets = new BitSet(length);
+        int straightLength = length;
+        for (int pc = 0; pc < length; pc += instructionLength(start, pc)) {
+            addJumpTargets(start, pc, jumpTargets);
+            if (straightLength == length && isBranch(start, pc)) {
+                straightLength = pc;
+            }
+        }
+        // code of a try block may be left for a handler half way
+        int handlers = buffer.getShort(start + length) & 0xFFFF;
+        for (int i = 0; i < handlers; i++) {
+            straightLength = Math.min(straightLength, buffer.getShort(start + length + 2 + 8 * i) & 0xFFFF);
+        }
+
+        Map<String, Integer> assignments = new HashMap<>();
+        BitSet stored = new BitSet();
+        boolean thisLoaded = false;
+        boolean parameterLoaded = false;
+
+        for (int pc = 0; pc < straightLength; pc += instructionLength(start, pc)) {
+            if (jumpTargets.get(pc)) {
+                thisLoaded = false;
+                parameterLoaded = false;
+            }
+
+            int opcode = buffer.get(start + pc) & 0xFF;
+            int loaded = loadedSlot(start, pc, opcode);
+            int storedSlot = storedSlot(start, pc, opcode);
+            if (storedSlot >= 0) {
+                stored.set(storedSlot);
+            }
+
+            if (opcode == ALOAD_0 && !stored.get(0)) {
+                thisLoaded = true;
+                parameterLoaded = false;
+            } else if (loaded > 0 && loaded <= parameterSlots && !stored.get(loaded)) {
+                parameterLoaded = thisLoaded;
+                thisLoaded = false;
+            } else {
+                String field = opcode == PUTFIELD && parameterLoaded ? ownField(start, pc, className) : null;
+                if (field != null) {
+                    assignments.putIfAbsent(field, pc);
+                }
+                thisLoaded = false;
+                parameterLoaded = false;
+            }
+        }
+
+        // a field assigned anywhere else may end up holding something else
+        for (int pc = 0; pc < length; pc += instructionLength(start, pc)) {
+            if ((buffer.get(start + pc) & 0xFF) == PUTFIELD) {
+                String field = ownField(start, pc, className);
+                if (field != null && assignments.getOrDefault(field, pc) != pc) {
+                    assignments.remove(field);
+                }
+            }
+        }
+
+        buffer.position(start + length);
+        return new HashSet<>(assignments.keySet());
+    }
+
+    /**
+     * @return name of the field a {@code putfield} writes, {@code null} if the field is not declared by the class
+     */
+    private String ownField(int start, int pc, String className) {
+        int fieldref = buffer.getShort(start + pc + 1) & 0xFFFF;
+        int owner = buffer.getShort(offsets[fieldref]) & 0xFFFF;
+        int nameAndType = buffer.getShort(offsets[fieldref] + 2) & 0xFFFF;
+        return className(owner).equals(className) ? utf8(buffer.getShort(offsets[nameAndType]) & 0xFFFF) : null;
+    }
+
+    private boolean isBranch(int start, int pc) {
+        int opcode = buffer.get(start + pc) & 0xFF;
+        return opcode >= IFEQ && opcode <= LOOKUPSWITCH ||
+                opcode == IFNULL || opcode == IFNONNULL || opcode == GOTO_W || opcode == JSR_W;
+    }
+
+    /**
+     * Local variable slots taken by the parameters, {@code this} aside.
+     */
+    private static int parameterSlots(String descriptor) {
+        int slots = 0;
+        for (int i = 1; descriptor.charAt(i) != ')'; i++) {
+            boolean array = false;
+            while (descriptor.charAt(i) == '[') {
+                array = true;
+                i++;
+            }
+
+            char type = descriptor.charAt(i);
+            if (type == 'L') {
+                i = descriptor.indexOf(';', i);
+            }
+            slots += !array && (type == 'J' || type == 'D') ? 2 : 1;
+        }
+        return slots;
+    }
+
+    /**
+     * @return slot read by a load instruction, {@code -1} for other instructions
+     */
+    private int loadedSlot(int start, int pc, int opcode) {
+        if (opcode >= ILOAD && opcode <= ALOAD) {
+            return buffer.get(start + pc + 1) & 0xFF;
+        }
+        if (opcode >= ILOAD_0 && opcode <= ALOAD_3) {
+            return (opcode - ILOAD_0) & 3;
+        }
+        if (opcode == WIDE) {
+            int widened = buffer.get(start + pc + 1) & 0xFF;
+            if (widened >= ILOAD && widened <= ALOAD) {
+                return buffer.getShort(start + pc + 2) & 0xFFFF;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return slot written by a store or {@code iinc} instruction, {@code -1} for other instructions
+     */
+    private int storedSlot(int start, int pc, int opcode) {
+        if (opcode >= ISTORE && opcode <= ASTORE || opcode == IINC) {
+            return buffer.get(start + pc + 1) & 0xFF;
+        }
+        if (opcode >= ISTORE_0 && opcode <= ASTORE_3) {
+            return (opcode - ISTORE_0) & 3;
+        }
+        if (opcode == WIDE) {
+            int widened = buffer.get(start + pc + 1) & 0xFF;
+            if (widened >= ISTORE && widened <= ASTORE || widened == IINC) {
+                return buffer.getShort(start + pc + 2) & 0xFFFF;
+            }
+        }
+        return -1;
+    }
+
+    private void addJumpTargets(int start, int pc, BitSet targets) {
+        int opcode = buffer.get(start + pc) & 0xFF;
+
+        if (opcode >= IFEQ && opcode <= JSR || opcode == IFNULL || opcode == IFNONNULL) {
+            targets.set(pc + buffer.getShort(start + pc + 1));
+        } else if (opcode == GOTO_W || opcode == JSR_W) {
+            targets.set(pc + buffer.getInt(start + pc + 1));
+        } else if (opcode == TABLESWITCH || opcode == LOOKUPSWITCH) {
+            int operands = start + ((pc + 4) & ~3);
+            targets.set(pc + buffer.getInt(operands));
+
+            if (opcode == TABLESWITCH) {
+                int count = buffer.getInt(operands + 8) - buffer.getInt(operands + 4) + 1;
+                for (int i = 0; i < count; i++) {
+                    targets.set(pc + buffer.getInt(operands + 12 + 4 * i));
+                }
+            } else {
+                int count = buffer.getInt(operands + 4);
+                for (int i = 0; i < count; i++) {
+                    targets.set(pc + buffer.getInt(operands + 12 + 8 * i));
+                }
+            }
+        }
+    }
+
+    private int instructionLength(int start, int pc) {
+        int opcode = buffer.get(start + pc) & 0xFF;
+        return switch (opcode) {
+            case 0x10, 0x12, ILOAD, 0x16, 0x17, 0x18, ALOAD, ISTORE, 0x37, 0x38, 0x39, ASTORE, RET, 0xbc -> 2;
+            case 0x11, 0x13, 0x14, IINC, 0xb2, 0xb3, 0xb4, PUTFIELD, 0xb6, 0xb7, 0xb8, 0xbb, 0xbd, 0xc0, 0xc1, IFNULL,
+                 IFNONNULL -> 3;
+            case MULTIANEWARRAY -> 4;
+            case INVOKEINTERFACE, INVOKEDYNAMIC, GOTO_W, JSR_W -> 5;
+            case WIDE -> (buffer.get(start + pc + 1) & 0xFF) == IINC ? 6 : 4;
+            case TABLESWITCH -> {
+                int operands = (pc + 4) & ~3;
+                int count = buffer.getInt(start + operands + 8) - buffer.getInt(start + operands + 4) + 1;
+                yield operands - pc + 12 + 4 * count;
+            }
+            case LOOKUPSWITCH -> {
+                int operands = (pc + 4) & ~3;
+                yield operands - pc + 8 + 8 * buffer.getInt(start + operands + 4);
+            }
+            default -> opcode >= IFEQ && opcode <= JSR ? 3 : 1;
+        };
+    }
+
+    private ClassFileInfo parseHeader() {
+        int accessFlags = u2();
+        String className = className(u2());
+        int superIndex = u2();
+        String superName = superIndex == 0 ? null : className(superIndex);
+
+        int interfacesCount = u2();
+        List<String> interfaces = new ArrayList<>(interfacesCount);
+        for (int i = 0; i < interfacesCount; i++) {
+            interfaces.add(className(u2()));
+        }
+
+        skipMembers(); // fields
+        skipMembers(); // methods
+
+        Set<String> annotations = new HashSet<>();
+        int attributesCount = u2();
+        for (int i = 0; i < attributesCount; i++) {
+            String name = utf8(u2());
+            int length = buffer.getInt();
+            if (RUNTIME_VISIBLE_ANNOTATIONS.equals(name)) {
+                int end = buffer.position() + length;
+                int annotationsCount = u2();
+                for (int j = 0; j < annotationsCount; j++) {
+                    annotations.add(descriptorToName(utf8(u2())));
+                    skipAnnotationElements();
+                }
+                buffer.position(end);
+            } else {
+                skip(length);
+            }
+        }
+
+        return new ClassFileInfo(className, accessFlags, superName, interfaces, annotations);
+    }
+
+    private void skipMembers() {
+        int count = u2();
+        for (int i = 0; i < count; i++) {
+            skip(6); // access_flags, name_index, descriptor_index
+            skipAttributes();
+        }
+    }
+
+    private void skipAttributes() {
+        int count = u2();
+        for (int i = 0; i < count; i++) {
+            skip(2);
+            skip(buffer.getInt());
+        }
+    }
+
+    private void skipAnnotationElements() {
+        int pairs = u2();
+        for (int i = 0; i < pairs; i++) {
+            skip(2); // element_name_index
+            skipElementValue();
+        }
+    }
+
+    private void skipElementValue() {
+        int tag = buffer.get() & 0xFF;
+        switch (tag) {
+            case 'B', 'C', 'D', 'F', 'I', 'J', 'S', 'Z', 's', 'c' -> skip(2);
+            case 'e' -> skip(4);
+            case '@' -> {
+                skip(2);
+                skipAnnotationElements();
+            }
+            case '[' -> {
+                int count = u2();
+                for (int i = 0; i < count; i++) {
+                    skipElementValue();
+                }
+            }
+            default -> throw new ClassFormatError("Unknown element value tag " + (char) tag);
+        }
+    }
+
+    private String className(int classIndex) {
+        int nameIndex = buffer.getShort(offsets[classIndex]) & 0xFFFF;
+        return utf8(nameIndex).replace('/', '.');
+    }
+
+    /**
+     * {@code Lorg/example/Foo;} becomes {@code org.example.Foo}.
+     */
+    private static String descriptorToName(String descriptor) {
+        if (descriptor.startsWith("L") && descriptor.endsWith(";")) {
+            return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+        }
+        return descriptor;
+    }
+
+    /**
+     * Decodes the modified UTF-8 used by class files.
+     */
+    private String utf8(int index) {
+        String cached = strings[index];
+        if (cached != null) {
+            return cached;
+        }
+
+        int offset = offsets[index];
+        int length = buffer.getShort(offset) & 0xFFFF;
+        int position = offset + 2;
+        int end = position + length;
+        char[] chars = new char[length];
+        int count = 0;
+
+        while (position < end) {
+            int b = buffer.get(position++) & 0xFF;
+            if (b < 0x80) {
+                chars[count++] = (char) b;
+            } else if ((b & 0xE0) == 0xC0) {
+                chars[count++] = (char) (((b & 0x1F) << 6) | (buffer.get(position++) & 0x3F));
+            } else {
+                int b2 = buffer.get(position++) & 0x3F;
+                int b3 = buffer.get(position++) & 0x3F;
+                chars[count++] = (char) (((b & 0x0F) << 12) | (b2 << 6) | b3);
+            }
+        }
+
+        String result = new String(chars, 0, count);
+        strings[index] = result;
+        return result;
+    }
+
+    private int u2() {
+        return buffer.getShort() & 0xFFFF;
+    }
+
+    private void skip(int bytes) {
+        buffer.position(buffer.position() + bytes);
+    }
+}
@@ -0,0 +1,201 @@
+package org.example.generator.scan;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Lists class files of a package with {@link ClassFileParser}, so nothing is loaded while scanning.
+ * {@link #scanParallel} fans out over classpath roots and directory subtrees on a fork-join pool. A jar is scanned
+ * by a single task through the class loader's cached {@link JarFile}: opening it again as a zip file system to split
+ * it further costs more than it saves.
+ */
+public final class ClassFileScanner {
+
+    private static final String CLASS_SUFFIX = ".class";
+
+    private ClassFileScanner() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * @param packageResource directory or jar URL of the package as returned by {@link ClassLoader#getResources}
+     */
+    public static List<ClassFileInfo> scan(URL packageResource, String packageName)
+            throws IOException, URISyntaxException {
+        List<ClassFileInfo> result = new ArrayList<>();
+
+        if ("file".equals(packageResource.getProtocol())) {
+            scanDirectory(Path.of(packageResource.toURI()), result);
+        } else if ("jar".equals(packageResource.getProtocol())) {
+            JarFile jar = ((JarURLConnection) packageResource.openConnection()).getJarFile();
+            scanJar(jar, packageName, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Same as {@link #scan} for every resource, with the result keyed by resource.
+     */
+    public static Map<URL, List<ClassFileInfo>> scanParallel(
+            List<URL> packageResources,
+            String packageName,
+            ForkJoinPool pool
+    ) throws IOException {
+        try {
+            return pool.invoke(new RootsTask(packageResources, packageName));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void scanDirectory(Path directory, List<ClassFileInfo> result) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(CLASS_SUFFIX))
+                    .filter(Files::isRegularFile)
+                    .forEach(file -> {
+                        try {
+                            parse(Files.readAllBytes(file), result);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void scanJar(JarFile jar, String packageName, List<ClassFileInfo> result) throws IOException {
+        String packagePath = packageName.replace('.', '/');
+        Enumeration<JarEntry> entries = jar.entries();
+
+        while (entries.hasMoreElements()) {
+            JarEntry entry = entries.nextElement();
+            String name = entry.getName();
+
+            if (name.startsWith(packagePath) && name.endsWith(CLASS_SUFFIX) && !entry.isDirectory()) {
+                try (InputStream input = jar.getInputStream(entry)) {
+                    parse(input.readAllBytes(), result);
+                }
+            }
+        }
+    }
+
+    private static void parse(byte[] bytes, List<ClassFileInfo> result) {
+        try {
+            result.add(ClassFileParser.parse(bytes));
+        } catch (ClassFormatError e) {
+            // ignore
+        }
+    }
+
+    private static final class RootsTask extends RecursiveTask<Map<URL, List<ClassFileInfo>>> {
+
+        private final List<URL> packageResources;
+        private final String packageName;
+
+        RootsTask(List<URL> packageResources, String packageName) {
+            this.packageResources = packageResources;
+            this.packageName = packageName;
+        }
+
+        @Override
+        protected Map<URL, List<ClassFileInfo>> compute() {
+            List<RootTask> tasks = packageResources.stream().map(r -> new RootTask(r, packageName)).toList();
+            invokeAll(tasks);
+
+            Map<URL, List<ClassFileInfo>> result = new LinkedHashMap<>();
+            for (RootTask task : tasks) {
+                result.put(task.packageResource, task.join());
+            }
+            return result;
+        }
+    }
+
+    private static final class RootTask extends RecursiveTask<List<ClassFileInfo>> {
+
+        private final URL packageResource;
+        private final String packageName;
+
+        RootTask(URL packageResource, String packageName) {
+            this.packageResource = packageResource;
+            this.packageName = packageName;
+        }
+
+        @Override
+        protected List<ClassFileInfo> compute() {
+            try {
+                if ("file".equals(packageResource.getProtocol())) {
+                    return new DirectoryTask(Path.of(packageResource.toURI())).compute();
+                }
+                return scan(packageResource, packageName);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (URISyntaxException e) {
+                throw new UncheckedIOException(new IOException(e));
+            }
+        }
+    }
+
+    /**
+     * Parses class files of a directory and forks a task for every subdirectory.
+     */
+    private static final class DirectoryTask extends RecursiveTask<List<ClassFileInfo>> {
+
+        private final Path directory;
+
+        DirectoryTask(Path directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        protected List<ClassFileInfo> compute() {
+            List<ClassFileInfo> result = new ArrayList<>();
+            List<DirectoryTask> subdirectories = new ArrayList<>();
+
+            if (!Files.isDirectory(directory)) {
+                return result;
+            }
+
+            try (DirectoryStream<Path> children = Files.newDirectoryStream(directory)) {
+                for (Path child : children) {
+                    if (Files.isDirectory(child)) {
+                        DirectoryTask task = new DirectoryTask(child);
+                        task.fork();
+                        subdirectories.add(task);
+                    } else if (child.getFileName().toString().endsWith(CLASS_SUFFIX)) {
+                        parse(Files.readAllBytes(child), result);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            for (DirectoryTask task : subdirectories) {
+                result.addAll(task.join());
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.generator.scan;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Build-time list of {@code @Generatable} classes of one classpath root, written by
+ * {@link org.example.generator.processor.GeneratableProcessor} to {@value #LOCATION}.
+ * Every line holds one binary class name, anything after it on the line is ignored.
+ */
+public final class GeneratableIndex {
+
+    public static final String LOCATION = "META-INF/generatable.index";
+
+    private final List<Entry> entries;
+
+    public GeneratableIndex(List<Entry> entries) {
+        this.entries = List.copyOf(entries);
+    }
+
+    public List<Entry> entries() {
+        return entries;
+    }
+
+    public List<Entry> entriesInPackage(String packageName) {
+        String prefix = packageName.isEmpty() ? "" : packageName + ".";
+        return entries.stream().filter(e -> e.className().startsWith(prefix)).toList();
+    }
+
+    /**
+     * Indexes of all classpath roots of the loader, keyed by the root they describe
+     * (the index URL without {@value #LOCATION}).
+     */
+    public static Map<String, GeneratableIndex> loadAll(ClassLoader classLoader) throws IOException {
+        Map<String, GeneratableIndex> result = new HashMap<>();
+        Enumeration<URL> resources = classLoader.getResources(LOCATION);
+
+        while (resources.hasMoreElements()) {
+            URL resource = resources.nextElement();
+            String url = resource.toString();
+            result.put(url.substring(0, url.length() - LOCATION.length()), read(resource));
+        }
+
+        return result;
+    }
+
+    public static GeneratableIndex read(URL resource) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8)
+        )) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+
+                entries.add(new Entry(line.split("\\s+", 2)[0]));
+            }
+        }
+
+        return new GeneratableIndex(entries);
+    }
+
+    public void write(Writer writer) throws IOException {
+        for (Entry entry : entries) {
+            writer.write(entry.className());
+            writer.write('\n');
+        }
+    }
+
+    public record Entry(String className) {
+    }
+}
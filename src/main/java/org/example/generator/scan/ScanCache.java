@@ -0,0 +1,355 @@
+package org.example.generator.scan;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Scan results of {@link ClassFileScanner} kept in memory and in a file, keyed by package resource URL.
+ * Every result carries a fingerprint of what it was scanned from: path, size and modification time of a jar, or
+ * names, sizes and modification times of all directories and class files below a package directory. A result
+ * whose fingerprint no longer matches is rescanned, resources that cannot be fingerprinted (e.g. nested jars)
+ * are always scanned.
+ * <p>
+ * {@link #shared()} is used by every {@link org.example.generator.Generator} of the JVM. It is kept in memory only,
+ * unless the {@value #LOCATION_PROPERTY} system property names a file to store it in; that file should be private
+ * to the user and to one build, it is read without further checks and the last JVM to write it wins.
+ */
+public final class ScanCache {
+
+    public static final String LOCATION_PROPERTY = "org.example.generator.scanCache";
+
+    private static final int MAGIC = 0x47534331; // GSC1
+
+    private static final class SharedHolder {
+        private static final ScanCache SHARED = new ScanCache(defaultLocation());
+    }
+
+    /**
+     * {@code null} when the cache is not persisted.
+     */
+    private final Path file;
+    private final Map<String, Result> results = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    /**
+     * @param file where results are read from and written to, {@code null} to keep them in memory only
+     */
+    public ScanCache(Path file) {
+        this.file = file;
+    }
+
+    public static ScanCache shared() {
+        return SharedHolder.SHARED;
+    }
+
+    private static Path defaultLocation() {
+        String location = System.getProperty(LOCATION_PROPERTY);
+        return location == null || location.isEmpty() ? null : Path.of(location);
+    }
+
+    /**
+     * Same as {@link ClassFileScanner#scanParallel}, rescanning only resources that changed since they were cached.
+     */
+    public Map<URL, List<ClassFileInfo>> scan(List<URL> packageResources, String packageName, ForkJoinPool pool)
+            throws IOException {
+        load();
+
+        Map<URL, List<ClassFileInfo>> result = new LinkedHashMap<>();
+        Map<URL, Long> fingerprints = new HashMap<>();
+        List<URL> stale = new ArrayList<>();
+
+        for (URL resource : packageResources) {
+            Long fingerprint = fingerprint(resource);
+            Result cached = results.get(resource.toString());
+
+            if (fingerprint != null && cached != null && cached.fingerprint() == fingerprint) {
+                result.put(resource, cached.classes());
+            } else {
+                result.put(resource, null);
+                fingerprints.put(resource, fingerprint);
+                stale.add(resource);
+            }
+        }
+
+        if (stale.isEmpty()) {
+            return result;
+        }
+
+        boolean changed = false;
+        for (Map.Entry<URL, List<ClassFileInfo>> scanned : ClassFileScanner.scanParallel(stale, packageName, pool)
+                .entrySet()) {
+            URL resource = scanned.getKey();
+            List<ClassFileInfo> classes = List.copyOf(scanned.getValue());
+            result.put(resource, classes);
+
+            Long fingerprint = fingerprints.get(resource);
+            if (fingerprint != null) {
+                results.put(resource.toString(), new Result(fingerprint, classes));
+                changed = true;
+            }
+        }
+
+        if (changed) {
+            save();
+        }
+        return result;
+    }
+
+    private void load() {
+        if (loaded) {
+            return;
+        }
+
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            if (file != null) {
+                try {
+                    read(file).forEach(results::putIfAbsent);
+                } catch (IOException e) {
+                    // missing or broken cache file, everything is rescanned and the file is rewritten
+                }
+            }
+            loaded = true;
+        }
+    }
+
+    private synchronized void save() {
+        if (file == null) {
+            return;
+        }
+
+        // scans of other threads keep adding results, both passes of write have to see the same ones
+        Map<String, Result> snapshot = new LinkedHashMap<>();
+        results.forEach((resource, result) -> {
+            if (exists(resource)) {
+                snapshot.put(resource, result);
+            } else {
+                results.remove(resource, result);
+            }
+        });
+
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try {
+                write(temp, snapshot);
+                try {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            // the cache is an optimization only, the next JVM will scan again
+        }
+    }
+
+    /**
+     * Whether the directory or jar behind a cached resource is still there, results of deleted ones are dropped
+     * so that the file does not grow with every temporary classpath it has seen.
+     */
+    private static boolean exists(String packageResource) {
+        String location = packageResource;
+        if (location.startsWith("jar:")) {
+            int separator = location.indexOf("!/");
+            location = location.substring("jar:".length(), separator < 0 ? location.length() : separator);
+        }
+
+        try {
+            URI uri = new URI(location);
+            return !"file".equals(uri.getScheme()) || Files.exists(Path.of(uri));
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return {@code null} if the resource cannot be fingerprinted
+     */
+    static Long fingerprint(URL packageResource) throws IOException {
+        try {
+            return switch (packageResource.getProtocol()) {
+                case "file" -> fingerprintDirectory(Path.of(packageResource.toURI()));
+                case "jar" -> fingerprintJar(packageResource);
+                default -> null;
+            };
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+
+    private static Long fingerprintJar(URL packageResource) throws IOException, URISyntaxException {
+        URL jarUrl = ((JarURLConnection) packageResource.openConnection()).getJarFileURL();
+        if (!"file".equals(jarUrl.getProtocol())) {
+            return null;
+        }
+
+        BasicFileAttributes attributes = Files.readAttributes(Path.of(jarUrl.toURI()), BasicFileAttributes.class);
+        return mix(mix(attributes.size(), attributes.lastModifiedTime().toMillis()), jarUrl.toString().hashCode());
+    }
+
+    private static Long fingerprintDirectory(Path directory) throws IOException {
+        long[] hash = {directory.toString().hashCode()};
+
+        try {
+            Files.walkFileTree(directory, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) {
+                    add(dir, attributes);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    if (file.getFileName().toString().endsWith(".class")) {
+                        add(file, attributes);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                private void add(Path path, BasicFileAttributes attributes) {
+                    hash[0] = mix(hash[0], directory.relativize(path).toString().hashCode());
+                    hash[0] = mix(hash[0], attributes.size());
+                    hash[0] = mix(hash[0], attributes.lastModifiedTime().toMillis());
+                }
+            });
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+
+        return hash[0];
+    }
+
+    private static long mix(long hash, long value) {
+        long h = (hash ^ value) * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    /**
+     * Strings are written once into a table and referenced by position, most of them are shared
+     * (package prefixes aside, interface and annotation names repeat across classes).
+     */
+    static void write(Path path, Map<String, Result> results) throws IOException {
+        Map<String, Integer> table = new LinkedHashMap<>();
+        results.forEach((key, result) -> {
+            table.putIfAbsent(key, table.size());
+            for (ClassFileInfo info : result.classes()) {
+                table.putIfAbsent(info.className(), table.size());
+                if (info.superName() != null) {
+                    table.putIfAbsent(info.superName(), table.size());
+                }
+                info.interfaces().forEach(name -> table.putIfAbsent(name, table.size()));
+                info.annotations().forEach(name -> table.putIfAbsent(name, table.size()));
+            }
+        });
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(table.size());
+            for (String string : table.keySet()) {
+                output.writeUTF(string);
+            }
+
+            output.writeInt(results.size());
+            for (Map.Entry<String, Result> entry : results.entrySet()) {
+                output.writeInt(table.get(entry.getKey()));
+                output.writeLong(entry.getValue().fingerprint());
+                output.writeInt(entry.getValue().classes().size());
+
+                for (ClassFileInfo info : entry.getValue().classes()) {
+                    output.writeInt(table.get(info.className()));
+                    output.writeShort(info.accessFlags());
+                    output.writeInt(info.superName() == null ? -1 : table.get(info.superName()));
+                    output.writeShort(info.interfaces().size());
+                    for (String name : info.interfaces()) {
+                        output.writeInt(table.get(name));
+                    }
+                    output.writeShort(info.annotations().size());
+                    for (String name : info.annotations()) {
+                        output.writeInt(table.get(name));
+                    }
+                }
+            }
+        }
+    }
+
+    static Map<String, Result> read(Path path) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (input.readInt() != MAGIC) {
+                throw new IOException("Not a scan cache file: " + path);
+            }
+
+            String[] table = new String[input.readInt()];
+            for (int i = 0; i < table.length; i++) {
+                table[i] = input.readUTF();
+            }
+
+            int resultCount = input.readInt();
+            Map<String, Result> results = new HashMap<>(resultCount * 2);
+            for (int i = 0; i < resultCount; i++) {
+                String key = table[input.readInt()];
+                long fingerprint = input.readLong();
+                ClassFileInfo[] classes = new ClassFileInfo[input.readInt()];
+
+                for (int j = 0; j < classes.length; j++) {
+                    String className = table[input.readInt()];
+                    int accessFlags = input.readUnsignedShort();
+                    int superIndex = input.readInt();
+
+                    List<String> interfaces = new ArrayList<>();
+                    for (int k = input.readUnsignedShort(); k > 0; k--) {
+                        interfaces.add(table[input.readInt()]);
+                    }
+                    Set<String> annotations = new HashSet<>();
+                    for (int k = input.readUnsignedShort(); k > 0; k--) {
+                        annotations.add(table[input.readInt()]);
+                    }
+
+                    classes[j] = new ClassFileInfo(
+                            className,
+                            accessFlags,
+                            superIndex < 0 ? null : table[superIndex],
+                            interfaces,
+                            annotations
+                    );
+                }
+                results.put(key, new Result(fingerprint, List.of(classes)));
+            }
+            return results;
+        } catch (ArrayIndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IOException("Broken scan cache file: " + path, e);
+        }
+    }
+
+    record Result(long fingerprint, List<ClassFileInfo> classes) {
+    }
+}
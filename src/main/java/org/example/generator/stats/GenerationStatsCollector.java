@@ -0,0 +1,111 @@
+package org.example.generator.stats;
+
+import java.lang.reflect.Constructor;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.example.generator.GenerationListener;
+
+/**
+ * Keeps counts, latencies and the greatest depth per generated type. Recording takes no locks once a type has been
+ * seen, so one collector can observe a generator shared by many threads.
+ * <p>
+ * Latencies of a type include its nested values, so the ones of a type and of its fields add up to more than the
+ * time spent.
+ */
+public class GenerationStatsCollector implements GenerationListener {
+
+    private final Map<Class<?>, TypeCounters> counters = new ConcurrentHashMap<>();
+
+    /**
+     * @param generated          values generated
+     * @param failed             values whose generation threw, nested failures count for every enclosing type
+     * @param cutOff             values left {@code null} at the depth limit
+     * @param maxDepth           greatest depth a value was generated or cut off at
+     * @param constructorsFailed constructor calls that failed before another constructor was tried
+     * @param latencies          nanoseconds per generated value
+     */
+    public record TypeStats(
+            long generated,
+            long failed,
+            long cutOff,
+            int maxDepth,
+            long constructorsFailed,
+            LatencyHistogram.Snapshot latencies
+    ) {
+    }
+
+    @Override
+    public void onExit(Class<?> type, int depth, long nanos) {
+        TypeCounters typeCounters = countersOf(type);
+        typeCounters.generated.increment();
+        typeCounters.reachedDepth(depth);
+        typeCounters.latencies.record(nanos);
+    }
+
+    @Override
+    public void onFailure(Class<?> type, int depth, Throwable failure) {
+        TypeCounters typeCounters = countersOf(type);
+        typeCounters.failed.increment();
+        typeCounters.reachedDepth(depth);
+    }
+
+    @Override
+    public void onDepthCutoff(Class<?> type, int depth) {
+        TypeCounters typeCounters = countersOf(type);
+        typeCounters.cutOff.increment();
+        typeCounters.reachedDepth(depth);
+    }
+
+    @Override
+    public void onConstructorFailed(Class<?> type, Constructor<?> constructor, Throwable failure) {
+        countersOf(type).constructorsFailed.increment();
+    }
+
+    /**
+     * Stats of every type seen so far. Values recorded concurrently with the call may be missing from some of the
+     * numbers of a type.
+     */
+    public Map<Class<?>, TypeStats> snapshot() {
+        Map<Class<?>, TypeStats> result = new HashMap<>();
+        counters.forEach((type, typeCounters) -> result.put(type, typeCounters.snapshot()));
+        return Map.copyOf(result);
+    }
+
+    private TypeCounters countersOf(Class<?> type) {
+        TypeCounters typeCounters = counters.get(type);
+        if (typeCounters == null) {
+            typeCounters = counters.computeIfAbsent(type, k -> new TypeCounters());
+        }
+        return typeCounters;
+    }
+
+    private static final class TypeCounters {
+        final LongAdder generated = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder cutOff = new LongAdder();
+        final LongAdder constructorsFailed = new LongAdder();
+        final AtomicInteger maxDepth = new AtomicInteger();
+        final LatencyHistogram latencies = new LatencyHistogram();
+
+        void reachedDepth(int depth) {
+            // a plain read first: the depth is rarely a new maximum
+            if (depth > maxDepth.get()) {
+                maxDepth.accumulateAndGet(depth, Math::max);
+            }
+        }
+
+        TypeStats snapshot() {
+            return new TypeStats(
+                    generated.sum(),
+                    failed.sum(),
+                    cutOff.sum(),
+                    maxDepth.get(),
+                    constructorsFailed.sum(),
+                    latencies.snapshot()
+            );
+        }
+    }
+}
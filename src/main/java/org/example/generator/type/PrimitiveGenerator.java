@@ -0,0 +1,190 @@
+package org.example.generator.type;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Generator of one primitive type returning it unboxed, used to fill primitive fields and arrays without
+ * allocating. Implementations are the nested functional interfaces, one per primitive type.
+ */
+public sealed interface PrimitiveGenerator {
+
+    /**
+     * The primitive type generated, e.g. {@code int.class}.
+     */
+    Class<?> type();
+
+    Object generateBoxed(RandomGenerator random);
+
+    /**
+     * Array of the primitive type, e.g. {@code int[]}, filled with generated values.
+     */
+    Object generateArray(RandomGenerator random, int length);
+
+    @FunctionalInterface
+    non-sealed interface OfBoolean extends PrimitiveGenerator {
+        boolean generate(RandomGenerator random);
+
+        default Class<?> type() {
+            return boolean.class;
+        }
+
+        default Object generateBoxed(RandomGenerator random) {
+            return generate(random);
+        }
+
+        default Object generateArray(RandomGenerator random, int length) {
+            boolean[] result = new boolean[length];
+            for (int i = 0; i < length; i++) {
+                result[i] = generate(random);
+            }
+            return result;
+        }
+    }
+
+    @FunctionalInterface
+    non-sealed interface OfByte extends PrimitiveGenerator {
+        byte generate(RandomGenerator random);
+
+        default Class<?> type() {
+            return byte.class;
+        }
+
+        default Object generateBoxed(RandomGenerator random) {
+            return generate(random);
+        }
+
+        default Object generateArray(RandomGenerator random, int length) {
+            byte[] result = new byte[length];
+            for (int i = 0; i < length; i++) {
+                result[i] = generate(random);
+            }
+            return result;
+        }
+    }
+
+    @FunctionalInterface
+    non-sealed interface OfShort extends PrimitiveGenerator {
+        short generate(RandomGenerator random);
+
+        default Class<?> type() {
+            return short.class;
+        }
+
+        default Object generateBoxed(RandomGenerator random) {
+            return generate(random);
+        }
+
+        default Object generateArray(RandomGenerator random, int length) {
+            short[] result = new short[length];
+            for (int i = 0; i < length; i++) {
+                result[i] = generate(random);
+            }
+            return result;
+        }
+    }
+
+    @FunctionalInterface
+    non-sealed interface OfChar extends PrimitiveGenerator {
+        char generate(RandomGenerator random);
+
+        default Class<?> type() {
+            return char.class;
+        }
+
+        default Object generateBoxed(RandomGenerator random) {
+            return generate(random);
+        }
+
+        default Object generateArray(RandomGenerator random, int length) {
+            char[] result = new char[length];
+            for (int i = 0; i < length; i++) {
+                result[i] = generate(random);
+            }
+            return result;
+        }
+    }
+
+    @FunctionalInterface
+    non-sealed interface OfInt extends PrimitiveGenerator {
+        int generate(RandomGenerator random);
+
+        default Class<?> type() {
+            return int.class;
+        }
+
+        default Object generateBoxed(RandomGenerator random) {
+            return generate(random);
+        }
+
+        default Object generateArray(RandomGenerator random, int length) {
+            int[] result = new int[length];
+            for (int i = 0; i < length; i++) {
+                result[i] = generate(random);
+            }
+            return result;
+        }
+    }
+
+    @FunctionalInterface
+    non-sealed interface OfLong extends PrimitiveGenerator {
+        long generate(RandomGenerator random);
+
+        default Class<?> type() {
+            return long.class;
+        }
+
+        default Object generateBoxed(RandomGenerator random) {
+            return generate(random);
+        }
+
+        default Object generateArray(RandomGenerator random, int length) {
+            long[] result = new long[length];
+            for (int i = 0; i < length; i++) {
+                result[i] = generate(random);
+            }
+            return result;
+        }
+    }
+
+    @FunctionalInterface
+    non-sealed interface OfFloat extends PrimitiveGenerator {
+        float generate(RandomGenerator random);
+
+        default Class<?> type() {
+            return float.class;
+        }
+
+        default Object generateBoxed(RandomGenerator random) {
+            return generate(random);
+        }
+
+        default Object generateArray(RandomGenerator random, int length) {
+            float[] result = new float[length];
+            for (int i = 0; i < length; i++) {
+                result[i] = generate(random);
+            }
+            return result;
+        }
+    }
+
+    @FunctionalInterface
+    non-sealed interface OfDouble extends PrimitiveGenerator {
+        double generate(RandomGenerator random);
+
+        default Class<?> type() {
+            return double.class;
+        }
+
+        default Object generateBoxed(RandomGenerator random) {
+            return generate(random);
+        }
+
+        default Object generateArray(RandomGenerator random, int length) {
+            double[] result = new double[length];
+            for (int i = 0; i < length; i++) {
+                result[i] = generate(random);
+            }
+            return result;
+        }
+    }
+}
@@ -1,9 +1,32 @@
 package org.example.generator.type;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
 
 @FunctionalInterface
 public interface TypeGeneratorsProvider {
     Map<Class<?>, Supplier<?>> getGenerators();
+
+    /**
+     * Generators drawing from the random stream they are called with, which is what {@link
+     * org.example.generator.Generator} uses. The stream belongs to the calling thread or task, so generators
+     * should keep no random state of their own: that way they do not contend across threads and are reproducible
+     * from the generator's seed. Defaults to {@link #getGenerators()}, ignoring the stream.
+     */
+    default Map<Class<?>, Function<RandomGenerator, ?>> getRandomGenerators() {
+        Map<Class<?>, Function<RandomGenerator, ?>> result = new HashMap<>();
+        getGenerators().forEach((type, supplier) -> result.put(type, random -> supplier.get()));
+        return result;
+    }
+
+    /**
+     * Unboxed generators keyed by primitive type, used for primitive fields and arrays. Types missing here are
+     * generated through {@link #getRandomGenerators()} and unboxed.
+     */
+    default Map<Class<?>, PrimitiveGenerator> getPrimitiveGenerators() {
+        return Map.of();
+    }
 }
@@ -0,0 +1,98 @@
+package org.example.generator.type.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.random.RandomGenerator;
+
+/**
+ * Latin-1 characters strings are made of. Strings are written as Latin-1 bytes, which is what a compact
+ * {@link String} stores, and every 64-bit random word yields four characters: a 16-bit chunk is scaled to the
+ * alphabet by a multiplication instead of a division. Characters are equally likely up to {@code size / 65536},
+ * a character listed twice is twice as likely.
+ */
+public final class Alphabet {
+
+    public static final Alphabet LOWERCASE = range('a', 'z');
+    public static final Alphabet ALPHANUMERIC = of("0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz");
+    public static final Alphabet PRINTABLE_ASCII = range(' ', '~');
+
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+
+    private final byte[] symbols;
+
+    private Alphabet(byte[] symbols) {
+        this.symbols = symbols;
+    }
+
+    public static Alphabet of(String symbols) {
+        if (symbols.isEmpty()) {
+            throw new IllegalArgumentException("Alphabet expected to have at least one character");
+        }
+
+        byte[] bytes = new byte[symbols.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            char c = symbols.charAt(i);
+            if (c > 0xFF) {
+                throw new IllegalArgumentException(
+                        "Alphabet expected to have Latin-1 characters only, but got U+" + Integer.toHexString(c)
+                );
+            }
+            bytes[i] = (byte) c;
+        }
+        return new Alphabet(bytes);
+    }
+
+    /**
+     * @param last inclusive
+     */
+    public static Alphabet range(char first, char last) {
+        if (first > last) {
+            throw new IllegalArgumentException("Empty range " + first + ".." + last);
+        }
+        if (last > 0xFF) {
+            throw new IllegalArgumentException(
+                    "Alphabet expected to have Latin-1 characters only, but got U+" + Integer.toHexString(last)
+            );
+        }
+
+        StringBuilder symbols = new StringBuilder(last - first + 1);
+        for (int c = first; c <= last; c++) {
+            symbols.append((char) c);
+        }
+        return of(symbols.toString());
+    }
+
+    public int size() {
+        return symbols.length;
+    }
+
+    public String generate(RandomGenerator random, int length) {
+        if (length == 0) {
+            return "";
+        }
+
+        byte[] result = new byte[length];
+        int i = 0;
+        for (; i + 4 <= length; i += 4) {
+            long word = random.nextLong();
+            result[i] = symbol(word);
+            result[i + 1] = symbol(word >>> CHUNK_BITS);
+            result[i + 2] = symbol(word >>> 2 * CHUNK_BITS);
+            result[i + 3] = symbol(word >>> 3 * CHUNK_BITS);
+        }
+        if (i < length) {
+            long word = random.nextLong();
+            for (; i < length; i++, word >>>= CHUNK_BITS) {
+                result[i] = symbol(word);
+            }
+        }
+        return new String(result, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Symbol picked by the low 16 bits of the word.
+     */
+    private byte symbol(long word) {
+        return symbols[(int) (((word & CHUNK_MASK) * symbols.length) >>> CHUNK_BITS)];
+    }
+}
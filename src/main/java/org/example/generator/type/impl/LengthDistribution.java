@@ -0,0 +1,49 @@
+package org.example.generator.type.impl;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Lengths of generated strings.
+ */
+@FunctionalInterface
+public interface LengthDistribution {
+
+    int nextLength(RandomGenerator random);
+
+    static LengthDistribution fixed(int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("length expected to be non-negative, but got " + length);
+        }
+        return random -> length;
+    }
+
+    /**
+     * @param max inclusive
+     */
+    static LengthDistribution uniform(int min, int max) {
+        if (min < 0 || max < min || max == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "Lengths expected to be 0 <= min <= max < " + Integer.MAX_VALUE + ", but got " + min + " and " + max
+            );
+        }
+        if (min == max) {
+            return fixed(min);
+        }
+        return random -> random.nextInt(min, max + 1);
+    }
+
+    /**
+     * Mostly short lengths with a long tail, like words or names: every length is {@code mean / (mean + 1)} times as
+     * likely as the previous one. Lengths above {@code max} are cut to it.
+     */
+    static LengthDistribution geometric(double mean, int max) {
+        if (!(mean > 0) || max < 0) {
+            throw new IllegalArgumentException(
+                    "Expected positive mean and non-negative max, but got " + mean + " and " + max
+            );
+        }
+
+        double logContinue = Math.log(mean / (mean + 1));
+        return random -> (int) Math.min(max, Math.floor(Math.log(1 - random.nextDouble()) / logContinue));
+    }
+}
@@ -1,45 +1,186 @@
 package org.example.generator.type.impl;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+import org.example.generator.type.PrimitiveGenerator;
 import org.example.generator.type.TypeGeneratorsProvider;
 
+/**
+ * The {@link Random} is used by {@link #getGenerators()} only, {@link #getRandomGenerators()} draws from the
+ * stream it is called with.
+ */
 public class PrimitiveGeneratorsProvider implements TypeGeneratorsProvider {
 
     private final Random random;
 
+    public PrimitiveGeneratorsProvider() {
+        this(new Random());
+    }
+
+    /**
+     * @deprecated the random only feeds {@link #getGenerators()}, which {@link org.example.generator.Generator} does
+     * not call; values it generates draw from its own streams, seeded by
+     * {@link org.example.generator.GeneratorOptions#withSeed}
+     */
+    @Deprecated
     public PrimitiveGeneratorsProvider(Random random) {
         this.random = random;
     }
 
     @Override
     public Map<Class<?>, Supplier<?>> getGenerators() {
+        Map<Class<?>, Supplier<?>> result = new HashMap<>();
+        getRandomGenerators().forEach((type, generator) -> result.put(type, () -> generator.apply(random)));
+        return result;
+    }
 
+    @Override
+    public Map<Class<?>, Function<RandomGenerator, ?>> getRandomGenerators() {
         return Map.ofEntries(
-                Map.entry(boolean.class, random::nextBoolean),
-                Map.entry(Boolean.class, random::nextBoolean),
+                Map.entry(boolean.class, RandomGenerator::nextBoolean),
+                Map.entry(Boolean.class, RandomGenerator::nextBoolean),
+
+                Map.entry(byte.class, r -> (byte) r.nextInt(Byte.MAX_VALUE + 1)),
+                Map.entry(Byte.class, r -> (byte) r.nextInt(Byte.MAX_VALUE + 1)),
 
-                Map.entry(byte.class, () -> (byte) random.nextInt(Byte.MAX_VALUE)),
-                Map.entry(Byte.class, () -> (byte) random.nextInt(Byte.MAX_VALUE)),
+                Map.entry(short.class, r -> (short) r.nextInt(Short.MAX_VALUE + 1)),
+                Map.entry(Short.class, r -> (short) r.nextInt(Short.MAX_VALUE + 1)),
 
-                Map.entry(short.class, () -> (short) random.nextInt(Short.MAX_VALUE)),
-                Map.entry(Short.class, () -> (short) random.nextInt(Short.MAX_VALUE)),
+                Map.entry(int.class, RandomGenerator::nextInt),
+                Map.entry(Integer.class, RandomGenerator::nextInt),
 
-                Map.entry(int.class, random::nextInt),
-                Map.entry(Integer.class, random::nextInt),
+                Map.entry(long.class, RandomGenerator::nextLong),
+                Map.entry(Long.class, RandomGenerator::nextLong),
 
-                Map.entry(long.class, random::nextLong),
-                Map.entry(Long.class, random::nextLong),
+                Map.entry(float.class, RandomGenerator::nextFloat),
+                Map.entry(Float.class, RandomGenerator::nextFloat),
 
-                Map.entry(float.class, random::nextFloat),
-                Map.entry(Float.class, random::nextFloat),
+                Map.entry(double.class, RandomGenerator::nextDouble),
+                Map.entry(Double.class, RandomGenerator::nextDouble),
 
-                Map.entry(double.class, random::nextDouble),
-                Map.entry(Double.class, random::nextDouble),
+                Map.entry(char.class, r -> (char) r.nextInt(Character.MAX_VALUE + 1)),
+                Map.entry(Character.class, r -> (char) r.nextInt(Character.MAX_VALUE + 1))
+        );
+    }
 
-                Map.entry(char.class, () -> (char) random.nextInt(Character.MAX_VALUE)),
-                Map.entry(Character.class, () -> (char) random.nextInt(Character.MAX_VALUE))
+    @Override
+    public Map<Class<?>, PrimitiveGenerator> getPrimitiveGenerators() {
+        return Map.of(
+                boolean.class, new Booleans(),
+                byte.class, new Bytes(),
+                short.class, new Shorts(),
+                int.class, new Ints(),
+                long.class, (PrimitiveGenerator.OfLong) RandomGenerator::nextLong,
+                float.class, (PrimitiveGenerator.OfFloat) RandomGenerator::nextFloat,
+                double.class, (PrimitiveGenerator.OfDouble) RandomGenerator::nextDouble,
+                char.class, new Chars()
         );
     }
+
+    /*
+     * Arrays of the narrow types are cut out of whole longs: one draw fills 64 booleans, 8 bytes, 4 shorts or chars,
+     * or 2 ints. The masks keep the ranges of the single values.
+     */
+
+    private static final class Booleans implements PrimitiveGenerator.OfBoolean {
+        @Override
+        public boolean generate(RandomGenerator random) {
+            return random.nextBoolean();
+        }
+
+        @Override
+        public Object generateArray(RandomGenerator random, int length) {
+            boolean[] result = new boolean[length];
+            for (int i = 0; i < length; ) {
+                long bits = random.nextLong();
+                for (int n = Math.min(Long.SIZE, length - i); n > 0; n--, bits >>>= 1) {
+                    result[i++] = (bits & 1) != 0;
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class Bytes implements PrimitiveGenerator.OfByte {
+        @Override
+        public byte generate(RandomGenerator random) {
+            return (byte) random.nextInt(Byte.MAX_VALUE + 1);
+        }
+
+        @Override
+        public Object generateArray(RandomGenerator random, int length) {
+            byte[] result = new byte[length];
+            for (int i = 0; i < length; ) {
+                long bits = random.nextLong();
+                for (int n = Math.min(Long.BYTES, length - i); n > 0; n--, bits >>>= Byte.SIZE) {
+                    result[i++] = (byte) (bits & Byte.MAX_VALUE);
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class Shorts implements PrimitiveGenerator.OfShort {
+        @Override
+        public short generate(RandomGenerator random) {
+            return (short) random.nextInt(Short.MAX_VALUE + 1);
+        }
+
+        @Override
+        public Object generateArray(RandomGenerator random, int length) {
+            short[] result = new short[length];
+            for (int i = 0; i < length; ) {
+                long bits = random.nextLong();
+                for (int n = Math.min(Long.BYTES / Short.BYTES, length - i); n > 0; n--, bits >>>= Short.SIZE) {
+                    result[i++] = (short) (bits & Short.MAX_VALUE);
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class Chars implements PrimitiveGenerator.OfChar {
+        @Override
+        public char generate(RandomGenerator random) {
+            return (char) random.nextInt(Character.MAX_VALUE + 1);
+        }
+
+        @Override
+        public Object generateArray(RandomGenerator random, int length) {
+            char[] result = new char[length];
+            for (int i = 0; i < length; ) {
+                long bits = random.nextLong();
+                for (int n = Math.min(Long.BYTES / Character.BYTES, length - i); n > 0; n--, bits >>>= Character.SIZE) {
+                    result[i++] = (char) bits;
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class Ints implements PrimitiveGenerator.OfInt {
+        @Override
+        public int generate(RandomGenerator random) {
+            return random.nextInt();
+        }
+
+        @Override
+        public Object generateArray(RandomGenerator random, int length) {
+            int[] result = new int[length];
+            int i = 0;
+            for (; i + 1 < length; i += 2) {
+                long bits = random.nextLong();
+                result[i] = (int) bits;
+                result[i + 1] = (int) (bits >>> Integer.SIZE);
+            }
+            if (i < length) {
+                result[i] = random.nextInt();
+            }
+            return result;
+        }
+    }
 }
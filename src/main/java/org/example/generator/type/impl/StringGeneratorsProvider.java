@@ -2,29 +2,93 @@ package org.example.generator.type.impl;
 
 import java.util.Map;
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
 import org.example.generator.type.TypeGeneratorsProvider;
 
+/**
+ * The {@link Random} is used by {@link #getGenerators()} only, {@link #getRandomGenerators()} draws from the
+ * stream it is called with.
+ */
 public class StringGeneratorsProvider implements TypeGeneratorsProvider {
 
-    private final Supplier<String> stringSupplier;
+    private final Random random;
+    private final Alphabet alphabet;
+    private final LengthDistribution lengths;
+    private final Function<RandomGenerator, String> stringGenerator;
 
+    /**
+     * Lowercase strings shorter than {@code maxLength}.
+     */
+    public StringGeneratorsProvider(int maxLength) {
+        this(new Random(), maxLength);
+    }
+
+    /**
+     * @deprecated the random only feeds {@link #getGenerators()}, which {@link org.example.generator.Generator} does
+     * not call; values it generates draw from its own streams, seeded by
+     * {@link org.example.generator.GeneratorOptions#withSeed}
+     */
+    @Deprecated
     public StringGeneratorsProvider(Random random, int maxLength) {
+        this(random, Alphabet.LOWERCASE, LengthDistribution.uniform(0, maxLength - 1));
+    }
+
+    public StringGeneratorsProvider(Alphabet alphabet, LengthDistribution lengths) {
+        this(new Random(), alphabet, lengths);
+    }
+
+    /**
+     * @deprecated the random only feeds {@link #getGenerators()}, which {@link org.example.generator.Generator} does
+     * not call; values it generates draw from its own streams, seeded by
+     * {@link org.example.generator.GeneratorOptions#withSeed}
+     */
+    @Deprecated
+    public StringGeneratorsProvider(Random random, Alphabet alphabet, LengthDistribution lengths) {
+        this(random, alphabet, lengths, r -> alphabet.generate(r, lengths.nextLength(r)));
+    }
 
-        this.stringSupplier = () -> {
-            int length = random.nextInt(maxLength);
-            StringBuilder sb = new StringBuilder(length);
-            for (int i = 0; i < length; i++) {
-                sb.append((char) (random.nextInt(26) + 'a'));
-            }
+    private StringGeneratorsProvider(
+            Random random,
+            Alphabet alphabet,
+            LengthDistribution lengths,
+            Function<RandomGenerator, String> stringGenerator
+    ) {
+        this.random = random;
+        this.alphabet = alphabet;
+        this.lengths = lengths;
+        this.stringGenerator = stringGenerator;
+    }
+
+    /**
+     * Same strings, but drawn from {@code size} strings generated up front: generating one then takes a single
+     * random index. The corpus is the same for the same seed.
+     */
+    public StringGeneratorsProvider withCorpus(int size, long seed) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Corpus size expected to be positive, but got " + size);
+        }
 
-            return sb.toString();
-        };
+        RandomGenerator corpusRandom = new SplittableRandom(seed);
+        String[] corpus = new String[size];
+        for (int i = 0; i < size; i++) {
+            corpus[i] = alphabet.generate(corpusRandom, lengths.nextLength(corpusRandom));
+        }
+
+        return new StringGeneratorsProvider(random, alphabet, lengths, r -> corpus[r.nextInt(size)]);
     }
 
     @Override
     public Map<Class<?>, Supplier<?>> getGenerators() {
 
-        return Map.of(String.class, stringSupplier);
+        return Map.of(String.class, () -> stringGenerator.apply(random));
+    }
+
+    @Override
+    public Map<Class<?>, Function<RandomGenerator, ?>> getRandomGenerators() {
+
+        return Map.of(String.class, stringGenerator);
     }
 }
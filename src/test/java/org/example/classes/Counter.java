@@ -0,0 +1,15 @@
+package org.example.classes;
+
+import org.example.generator.Generatable;
+
+/**
+ * Private state without a setter, so there is no static generator for it.
+ */
+@Generatable
+public class Counter {
+    private int count;
+
+    public int getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.classes;
+
+import org.example.generator.Generatable;
+
+@Generatable
+public class Primitives {
+    public boolean booleanValue;
+    public byte byteValue;
+    public short shortValue;
+    public char charValue;
+    public int intValue;
+    public long longValue;
+    public float floatValue;
+    public double doubleValue;
+}
@@ -0,0 +1,65 @@
+package org.example.generator;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+import com.sun.management.ThreadMXBean;
+import org.example.classes.*;
+import org.example.generator.type.impl.PrimitiveGeneratorsProvider;
+import org.example.generator.type.impl.StringGeneratorsProvider;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bytes allocated on the generating thread per generated value, averaged after a warmup so that plan compilation
+ * and class loading are left out. Budgets are about twice what generation takes now: they catch a new copy or
+ * boxing in the hot path, not noise.
+ */
+class AllocationBudgetTest {
+
+    private static final int WARMUP = 2_000;
+    private static final int MEASURED = 2_000;
+
+    private final Generator generator = new Generator(
+            List.of(new PrimitiveGeneratorsProvider(), new StringGeneratorsProvider(15)),
+            5,
+            TestEnum.ONE,
+            GeneratorOptions.defaults().withSeed(42)
+    );
+
+    static Stream<Arguments> budgets() {
+        return Stream.of(
+                Arguments.of(Example.class, 400L),
+                Arguments.of(Product.class, 600L),
+                Arguments.of(Cart.class, 3_600L),
+                Arguments.of(BinaryTreeNode.class, 25_000L),
+                Arguments.of(int[].class, 150L),
+                Arguments.of(String[].class, 1_000L),
+                Arguments.of(Product[].class, 3_000L)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("budgets")
+    void shouldStayWithinAllocationBudget(Class<?> clazz, long bytesPerValue) throws Exception {
+        var threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        var random = new SplittableRandom(42);
+        for (int i = 0; i < WARMUP; i++) {
+            generator.generateValueOfType(clazz, random);
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED; i++) {
+            generator.generateValueOfType(clazz, random);
+        }
+        long allocated = (threads.getCurrentThreadAllocatedBytes() - before) / MEASURED;
+
+        assertThat(allocated).as("bytes per %s", clazz.getSimpleName()).isLessThanOrEqualTo(bytesPerValue);
+    }
+}
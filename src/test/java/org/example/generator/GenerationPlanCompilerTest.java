@@ -0,0 +1,265 @@
+package org.example.generator;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+import org.example.classes.*;
+import org.example.generator.GenerationPlan.*;
+import org.example.generator.access.ReflectionAccessStrategy;
+import org.example.generator.type.PrimitiveGenerator;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GenerationPlanCompilerTest {
+
+    private final Map<Class<?>, Function<RandomGenerator, ?>> generators = Map.of(
+            String.class, random -> "test-string",
+            double.class, random -> 1.0
+    );
+
+    private final Map<Class<?>, PrimitiveGenerator> primitiveGenerators = Map.of(
+            int.class, (PrimitiveGenerator.OfInt) random -> 7
+    );
+
+    private final GenerationPlanCompiler compiler = new GenerationPlanCompiler(
+            generators,
+            primitiveGenerators,
+            new ReflectionAccessStrategy(),
+            false,
+            Map.of(Shape.class, ImplementationChooser.of(List.of(Rectangle.class)))
+    );
+
+    @Generatable
+    static class Picky {
+        Picky(InterfaceWithNoImpl impossible) {
+        }
+
+        Picky(EmptyEnum impossible, String name) {
+        }
+
+        Picky(String name) {
+        }
+
+        private Picky(int secret) {
+        }
+    }
+
+    @Generatable
+    static class Impossible {
+        Impossible(List<NonGeneratable> impossible) {
+        }
+    }
+
+    @Generatable
+    abstract static class Abstract {
+    }
+
+    @Generatable(bypassConstructors = true)
+    static class Allocated {
+        private final String name;
+        int size;
+
+        Allocated(String name) {
+            this.name = name;
+        }
+    }
+
+    @Generatable(bypassConstructors = true)
+    record AllocatedRecord(String name) {
+    }
+
+    @Test
+    void shouldRejectConstructorsThatCannotBeCalled() {
+        var plan = (CommonClass) compiler.compile(Picky.class);
+
+        assertThat(plan.constructors()).hasSize(1);
+        assertThat(plan.constructors().getFirst().parameterTypes()).containsExactly(String.class);
+        assertThat(plan.rejectedConstructors()).extracting(RejectedConstructor::reason).containsExactlyInAnyOrder(
+                "parameter 0: no implementation of " + InterfaceWithNoImpl.class.getName(),
+                "parameter 0: enum " + EmptyEnum.class.getName() + " has no constants",
+                "private"
+        );
+    }
+
+    @Test
+    void shouldExplainWhyClassCannotBeGenerated() {
+        var impossible = (NotGeneratable) compiler.compile(Impossible.class);
+        var abstractClass = (NotGeneratable) compiler.compile(Abstract.class);
+
+        assertThat(impossible.reason())
+                .startsWith("No suitable constructor found for class: " + Impossible.class.getName())
+                .contains("parameter 0: " + NonGeneratable.class.getName() + " is not annotated with @Generatable");
+        assertThat(abstractClass.reason()).contains("is abstract");
+    }
+
+    @Test
+    void shouldGenerateAllFieldsOfAllocatedClasses() {
+        var plan = (CommonClass) compiler.compile(Allocated.class);
+
+        assertThat(plan.constructors()).hasSize(1);
+        assertThat(plan.constructors().getFirst().constructor()).isNull();
+        assertThat(plan.constructors().getFirst().parameters()).isEmpty();
+        assertThat(plan.fields()).extracting(field -> field.field().getName()).containsExactly("name");
+        assertThat(plan.primitiveFields()).extracting(field -> field.field().getName()).containsExactly("size");
+    }
+
+    @Test
+    void shouldNotAllocateRecords() {
+        var plan = (NotGeneratable) compiler.compile(AllocatedRecord.class);
+
+        assertThat(plan.reason()).contains("cannot be allocated");
+    }
+
+    @Test
+    void shouldCompileNotGeneratable() {
+        assertThat(compiler.compile(NonGeneratable.class)).isInstanceOf(NotGeneratable.class);
+    }
+
+    @Test
+    void shouldCompileSimple() {
+        var plan = compiler.compile(String.class);
+
+        assertThat(plan).isInstanceOf(Simple.class);
+        assertThat(((Simple) plan).generator().apply(new Random())).isEqualTo("test-string");
+    }
+
+    @Test
+    void shouldCacheEnumConstants() {
+        var plan = compiler.compile(TestEnum.class);
+
+        assertThat(plan).isInstanceOf(EnumConstants.class);
+        assertThat(((EnumConstants) plan).constants()).containsExactly(TestEnum.ONE, TestEnum.TWO);
+    }
+
+    @Test
+    void shouldResolveArrayComponentType() {
+        var plan = compiler.compile(int[][].class);
+
+        assertThat(plan).isInstanceOf(ArrayOf.class);
+        assertThat(((ArrayOf) plan).componentType()).isEqualTo(int[].class);
+    }
+
+    @Test
+    void shouldCompilePrimitiveArrays() {
+        var plan = compiler.compile(int[].class);
+
+        assertThat(plan).isInstanceOf(PrimitiveArrayOf.class);
+        assertThat(((PrimitiveArrayOf) plan).generator().generateArray(new Random(), 3)).isEqualTo(new int[]{7, 7, 7});
+        assertThat(compiler.compile(long[].class)).isInstanceOf(ArrayOf.class);
+    }
+
+    @Test
+    void shouldCompileBoxingFallbackForPrimitiveGenerators() {
+        var plan = compiler.compile(int.class);
+
+        assertThat(plan).isInstanceOf(Simple.class);
+        assertThat(((Simple) plan).generator().apply(new Random())).isEqualTo(7);
+    }
+
+    @Test
+    void shouldSeparatePrimitiveFields() {
+        var plan = (CommonClass) compiler.compile(Example.class);
+
+        assertThat(plan.fields()).isEmpty();
+        assertThat(plan.primitiveFields()).hasSize(1);
+        assertThat(plan.primitiveFields().getFirst().field().getName()).isEqualTo("i");
+    }
+
+    @Test
+    void shouldCompileCollectionFactories() {
+        assertThat(((CollectionOf) compiler.compile(Set.class)).factory().get()).isInstanceOf(HashSet.class);
+        assertThat(((CollectionOf) compiler.compile(Queue.class)).factory().get()).isInstanceOf(LinkedList.class);
+        assertThat(((CollectionOf) compiler.compile(List.class)).factory().get()).isInstanceOf(ArrayList.class);
+        assertThat(((MapOf) compiler.compile(SortedMap.class)).factory().get()).isInstanceOf(TreeMap.class);
+        assertThat(((MapOf) compiler.compile(Map.class)).factory().get()).isInstanceOf(HashMap.class);
+    }
+
+    @Test
+    void shouldCompileInterface() {
+        var plan = compiler.compile(Shape.class);
+
+        assertThat(plan).isInstanceOf(InterfaceType.class);
+        assertThat(((InterfaceType) plan).implementations().choose(new Random())).isEqualTo(Rectangle.class);
+        assertThat(((InterfaceType) compiler.compile(InterfaceWithNoImpl.class)).implementations().isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldSkipFinalFields() {
+        var plan = (CommonClass) compiler.compile(Rectangle.class);
+
+        assertThat(plan.constructors()).hasSize(1);
+        assertThat(plan.constructors().getFirst().parameterTypes()).containsExactly(double.class, double.class);
+        assertThat(plan.fields()).isEmpty();
+    }
+
+    @Test
+    void shouldLeaveOutFieldsAssignedByConstructor() {
+        var plan = (CommonClass) compiler.compile(Product.class);
+
+        for (ConstructorPlan constructor : plan.constructors()) {
+            var fieldsLeft = constructor.fields().stream().map(field -> field.field().getName()).toList();
+            if (constructor.parameterTypes().length == 2) {
+                assertThat(fieldsLeft).isEmpty();
+            } else {
+                assertThat(fieldsLeft).containsExactly("price");
+            }
+        }
+        assertThat(plan.fields()).hasSize(2);
+    }
+
+    @Test
+    void shouldResolveParameterElementTypes() {
+        var plan = (CommonClass) compiler.compile(Cart.class);
+
+        var parameter = (CollectionParameter) plan.constructors().getFirst().parameters().getFirst();
+        assertThat(parameter.elementType()).isEqualTo(Product.class);
+        assertThat(parameter.factory().get()).isInstanceOf(ArrayList.class);
+    }
+
+    @Test
+    void shouldResolveElementTypes() {
+        var cartPlan = (CommonClass) compiler.compile(Cart.class);
+
+        assertThat(cartPlan.fields()).hasSize(1);
+        assertThat(cartPlan.fields().getFirst()).isInstanceOf(CollectionField.class);
+        assertThat(((CollectionField) cartPlan.fields().getFirst()).elementType()).isEqualTo(Product.class);
+
+        var mapPlan = (CommonClass) compiler.compile(InternalMapTest.class);
+
+        assertThat(mapPlan.fields()).hasSize(1);
+        var mapField = (MapField) mapPlan.fields().getFirst();
+        assertThat(mapField.keyType()).isEqualTo(Product.class);
+        assertThat(mapField.valueType()).isEqualTo(String.class);
+    }
+
+    @Test
+    void shouldPickUpStaticGenerators() {
+        var staticCompiler = new GenerationPlanCompiler(
+                generators,
+                primitiveGenerators,
+                new ReflectionAccessStrategy(),
+                true,
+                Map.of()
+        );
+
+        var plan = staticCompiler.compile(Product.class);
+
+        assertThat(plan).isInstanceOf(Precompiled.class);
+        assertThat(((Precompiled) plan).generator()).isInstanceOf(ProductGenerator.class);
+        assertThat(staticCompiler.compile(Shape.class)).isInstanceOf(Precompiled.class);
+    }
+
+    @Test
+    void shouldFallBackToReflectionWithoutStaticGenerator() {
+        var staticCompiler = new GenerationPlanCompiler(
+                generators,
+                primitiveGenerators,
+                new ReflectionAccessStrategy(),
+                true,
+                Map.of()
+        );
+
+        assertThat(staticCompiler.compile(Counter.class)).isInstanceOf(CommonClass.class);
+        assertThat(staticCompiler.compile(InterfaceWithNoImpl.class)).isInstanceOf(InterfaceType.class);
+    }
+}
@@ -0,0 +1,251 @@
+package org.example.generator;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.example.classes.*;
+import org.example.generator.type.impl.PrimitiveGeneratorsProvider;
+import org.example.generator.type.impl.StringGeneratorsProvider;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GeneratorPublisherTest {
+
+    private final Generator generator = new Generator(
+            List.of(new PrimitiveGeneratorsProvider(), new StringGeneratorsProvider(15)),
+            4,
+            TestEnum.ONE
+    );
+
+    /**
+     * Requests {@code batch} values at a time until {@code total} arrived, then cancels.
+     */
+    private static final class CollectingSubscriber<T> implements Flow.Subscriber<T> {
+
+        private final int batch;
+        private final int total;
+        private final List<T> received = new CopyOnWriteArrayList<>();
+        private final CompletableFuture<List<T>> done = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+        private int outstanding;
+
+        CollectingSubscriber(int batch, int total) {
+            this.batch = batch;
+            this.total = total;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            outstanding = batch;
+            subscription.request(batch);
+        }
+
+        @Override
+        public void onNext(T item) {
+            received.add(item);
+            if (received.size() == total) {
+                subscription.cancel();
+                done.complete(received);
+                return;
+            }
+            if (--outstanding == 0) {
+                outstanding = batch;
+                subscription.request(batch);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            done.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(received);
+        }
+    }
+
+    @Test
+    void shouldPublishRequestedValues() throws Exception {
+        var subscriber = new CollectingSubscriber<Product>(7, 100);
+
+        generator.publisher(Product.class).subscribe(subscriber);
+
+        var received = subscriber.done.get(10, TimeUnit.SECONDS);
+        assertThat(received).hasSize(100).allMatch(Product.class::isInstance);
+    }
+
+    @Test
+    void shouldNotGenerateBeyondDemand() throws Exception {
+        var subscription = new AtomicReference<Flow.Subscription>();
+        var received = new CopyOnWriteArrayList<Cart>();
+        var arrived = new CountDownLatch(3);
+
+        generator.publisher(Cart.class).subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription.set(s);
+                s.request(3);
+            }
+
+            @Override
+            public void onNext(Cart item) {
+                received.add(item);
+                arrived.countDown();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        assertThat(arrived.await(10, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(100);
+        assertThat(received).hasSize(3);
+        subscription.get().cancel();
+    }
+
+    @Test
+    void shouldServeSubscribersSideBySide() throws Exception {
+        var publisher = generator.publisher(Example.class);
+        var subscribers = List.of(
+                new CollectingSubscriber<Example>(1000, 2000),
+                new CollectingSubscriber<Example>(1, 50),
+                new CollectingSubscriber<Example>(64, 500)
+        );
+
+        subscribers.forEach(publisher::subscribe);
+
+        for (var subscriber : subscribers) {
+            assertThat(subscriber.done.get(10, TimeUnit.SECONDS)).hasSize(subscriber.total);
+        }
+    }
+
+    @Test
+    void shouldSignalErrors() throws Exception {
+        assertThrows(GenerationException.class, () -> generator.publisher(NonGeneratable.class));
+
+        var failing = new CollectingSubscriber<InterfaceWithNoImpl>(1, 1);
+        generator.publisher(InterfaceWithNoImpl.class).subscribe(failing);
+        assertThat(failing.done).failsWithin(10, TimeUnit.SECONDS);
+
+        var invalid = new CollectingSubscriber<Example>(0, 1);
+        generator.publisher(Example.class).subscribe(invalid);
+        assertThat(invalid.done).failsWithin(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldNotSignalBeforeOnSubscribeReturned() throws Exception {
+        var events = new CopyOnWriteArrayList<String>();
+        var arrived = new CountDownLatch(1);
+
+        generator.publisher(Example.class).subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                s.request(1);
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                events.add("subscribed");
+            }
+
+            @Override
+            public void onNext(Example item) {
+                events.add("next");
+                arrived.countDown();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        assertThat(arrived.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(events).containsExactly("subscribed", "next");
+    }
+
+    @Test
+    void shouldSignalInvalidRequestAfterOnNextReturned() throws Exception {
+        var events = new CopyOnWriteArrayList<String>();
+        var failed = new CountDownLatch(1);
+
+        generator.publisher(Example.class).subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription = s;
+                s.request(1);
+            }
+
+            @Override
+            public void onNext(Example item) {
+                events.add("next");
+                subscription.request(-1);
+                events.add("next returned");
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                events.add("error " + throwable.getClass().getSimpleName());
+                failed.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        assertThat(failed.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(events).containsExactly("next", "next returned", "error IllegalArgumentException");
+    }
+
+    @Test
+    void shouldCancelWhenOnNextThrows() throws Exception {
+        var subscription = new AtomicReference<Flow.Subscription>();
+        var received = new CopyOnWriteArrayList<Example>();
+
+        generator.publisher(Example.class, Runnable::run).subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription.set(s);
+            }
+
+            @Override
+            public void onNext(Example item) {
+                received.add(item);
+                throw new IllegalStateException("broken subscriber");
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        assertThrows(IllegalStateException.class, () -> subscription.get().request(3));
+        assertThat(received).hasSize(1);
+
+        subscription.get().request(3);
+        assertThat(received).hasSize(1);
+    }
+}
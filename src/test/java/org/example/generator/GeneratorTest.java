@@ -1,12 +1,22 @@
 package org.example.generator;
 
+import java.lang.reflect.Constructor;
 import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import org.example.classes.*;
+import org.example.generator.access.AccessBackend;
+import org.example.generator.type.PrimitiveGenerator;
 import org.example.generator.type.TypeGeneratorsProvider;
 import org.example.generator.type.impl.PrimitiveGeneratorsProvider;
 import org.example.generator.type.impl.StringGeneratorsProvider;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -14,11 +24,57 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class GeneratorTest {
 
-    private final Random random = new Random();
+    @Generatable
+    static class Flaky {
+        static final AtomicInteger FAILURES = new AtomicInteger();
+
+        Flaky(int ignored) {
+            FAILURES.incrementAndGet();
+            throw new IllegalStateException("always fails");
+        }
+
+        Flaky(String ignored) {
+        }
+    }
+
+    @Generatable
+    static class Picky {
+        private final String value;
+
+        Picky(int value) {
+            if (value % 2 == 0) {
+                throw new IllegalArgumentException("even");
+            }
+            this.value = String.valueOf(value);
+        }
+
+        Picky(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+
+    @Generatable(bypassConstructors = true)
+    static class Guarded {
+        static final AtomicInteger CALLS = new AtomicInteger();
+
+        private final String name;
+        private int size = -1;
+        private Product product;
+
+        Guarded(String name) {
+            CALLS.incrementAndGet();
+            throw new IllegalStateException("never valid");
+        }
+    }
 
     private final Collection<TypeGeneratorsProvider> providers = List.of(
-            new PrimitiveGeneratorsProvider(random),
-            new StringGeneratorsProvider(random, 15)
+            new PrimitiveGeneratorsProvider(),
+            new StringGeneratorsProvider(15)
     );
     private final Object marker = TestEnum.ONE;
 
@@ -209,6 +265,355 @@ class GeneratorTest {
         );
     }
 
+    @ParameterizedTest
+    @EnumSource(AccessBackend.class)
+    void shouldGenerateSupportedClassesWithAccessBackend(AccessBackend backend) {
+        var generator = new Generator(
+                providers,
+                10,
+                marker,
+                GeneratorOptions.defaults().withAccessBackend(backend)
+        );
+
+        for (Class<?> clazz : source()) {
+            assertThat(generate(generator, clazz)).isInstanceOf(clazz);
+        }
+
+        var cart = (Cart) generate(generator, Cart.class);
+        assertThat(cart.getItems().size()).isNotEqualTo(0);
+    }
+
+    @Test
+    void shouldBeReproducibleFromSeed() {
+        var options = GeneratorOptions.defaults().withSeed(7);
+        var first = new Generator(streamProviders(), 10, marker, options);
+        var second = new Generator(streamProviders(), 10, marker, options);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(describe((Cart) generate(first, Cart.class)))
+                    .isEqualTo(describe((Cart) generate(second, Cart.class)));
+            assertThat(generate(first, Example.class).toString()).isEqualTo(generate(second, Example.class).toString());
+        }
+    }
+
+    @Test
+    void shouldDrawFromGivenStream() throws Exception {
+        var first = new Generator(streamProviders(), 10, marker);
+        var second = new Generator(streamProviders(), 10, marker);
+
+        var firstCart = (Cart) first.generateValueOfType(Cart.class, new SplittableRandom(3));
+        var secondCart = (Cart) second.generateValueOfType(Cart.class, new SplittableRandom(3));
+
+        assertThat(describe(firstCart)).isEqualTo(describe(secondCart));
+    }
+
+    @Test
+    void shouldBeSharedBetweenThreads() throws Exception {
+        var shared = new Generator(streamProviders(), 4, marker);
+
+        try (var executor = Executors.newFixedThreadPool(4)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        for (Class<?> clazz : source()) {
+                            assertThat(generate(shared, clazz)).isInstanceOf(clazz);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+    }
+
+    @Test
+    void shouldGenerateSameGraphInParallelWhateverThePoolSize() throws Exception {
+        try (var single = new ForkJoinPool(1); var wide = new ForkJoinPool(4)) {
+            var options = GeneratorOptions.defaults();
+            var first = new Generator(streamProviders(), 5, marker, options.withForkJoinPool(single));
+            var second = new Generator(streamProviders(), 5, marker, options.withForkJoinPool(wide));
+
+            for (long seed = 0; seed < 5; seed++) {
+                var tree = (BinaryTreeNode) first.generateValueOfType(
+                        BinaryTreeNode.class,
+                        new SplittableRandom(seed)
+                );
+                var sameTree = (BinaryTreeNode) second.generateValueOfType(
+                        BinaryTreeNode.class,
+                        new SplittableRandom(seed)
+                );
+                assertThat(describe(tree)).isEqualTo(describe(sameTree));
+
+                var cart = (Cart) first.generateValueOfType(Cart.class, new SplittableRandom(seed));
+                var sameCart = (Cart) second.generateValueOfType(Cart.class, new SplittableRandom(seed));
+                assertThat(describe(cart)).isEqualTo(describe(sameCart));
+            }
+        }
+    }
+
+    @Test
+    void shouldGenerateSameValuesInParallelWhenConstructorsFail() throws Exception {
+        try (var single = new ForkJoinPool(1); var wide = new ForkJoinPool(4)) {
+            var options = GeneratorOptions.defaults().withSeed(11);
+            var first = new Generator(streamProviders(), 5, marker, options.withForkJoinPool(single));
+            var second = new Generator(streamProviders(), 5, marker, options.withForkJoinPool(wide));
+
+            assertThat(first.generateMany(Picky.class, 500).toString())
+                    .isEqualTo(second.generateMany(Picky.class, 500).toString());
+        }
+    }
+
+    @Test
+    void shouldRethrowFromParallelGeneration() {
+        try (var pool = new ForkJoinPool(2)) {
+            var parallel = new Generator(providers, 10, marker, GeneratorOptions.defaults().withForkJoinPool(pool));
+
+            var ex = assertThrows(
+                    GenerationException.class,
+                    () -> parallel.generateValueOfType(InterfaceWithNoImpl.class)
+            );
+            assertThat(ex.getMessage()).contains(InterfaceWithNoImpl.class.getName());
+        }
+    }
+
+    @Test
+    void shouldGenerateMany() throws Exception {
+        List<Product> products = generator.generateMany(Product.class, 100);
+
+        assertThat(products.size()).isEqualTo(100);
+        products.forEach(product -> assertThat(product).isInstanceOf(Product.class));
+        assertThat(generator.generateMany(Integer.class, 0).isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldGenerateManyInParallel() throws Exception {
+        try (var pool = new ForkJoinPool(4)) {
+            var parallel = new Generator(providers, 4, marker, GeneratorOptions.defaults().withForkJoinPool(pool));
+
+            List<Shape> shapes = parallel.generateMany(Shape.class, 1000);
+
+            assertThat(shapes.size()).isEqualTo(1000);
+            shapes.forEach(shape -> assertThat(shape).isInstanceOf(Shape.class));
+        }
+    }
+
+    @Test
+    void shouldGenerateInto() throws Exception {
+        var target = new Example[10];
+
+        generator.generateInto(target);
+
+        for (Example example : target) {
+            assertThat(example).isInstanceOf(Example.class);
+        }
+    }
+
+    @Test
+    void shouldStreamSizedAndSplittable() throws Exception {
+        var stream = generator.stream(Cart.class, 10_000);
+
+        assertThat(stream.spliterator().getExactSizeIfKnown()).isEqualTo(10_000L);
+        assertThat(generator.stream(Cart.class, 10_000).parallel().filter(Objects::nonNull).count())
+                .isEqualTo(10_000L);
+        assertThat(generator.stream(String.class).limit(5).toList().size()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldCheckTypeOncePerBatch() {
+        assertThrows(GenerationException.class, () -> generator.generateMany(NonGeneratable.class, 10));
+        assertThrows(GenerationException.class, () -> generator.stream(NonGeneratable.class));
+
+        var ex = assertThrows(
+                UncheckedGenerationException.class,
+                () -> generator.stream(InterfaceWithNoImpl.class, 3).toList()
+        );
+        assertThat(ex.getCause()).isInstanceOf(GenerationException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldFillCollectionsPassedToConstructor(boolean staticGenerators) {
+        var options = GeneratorOptions.defaults().withStaticGenerators(staticGenerators);
+        var generator = new Generator(streamProviders(), 3, marker, options);
+
+        var cart = (Cart) generate(generator, Cart.class);
+
+        assertThat(cart.getItems().size()).isPositive();
+        assertThat(cart.getItems().getFirst()).isInstanceOf(Product.class);
+    }
+
+    @Test
+    void shouldStopCallingConstructorThatAlwaysFails() {
+        var generator = new Generator(streamProviders(), 3, marker);
+        Flaky.FAILURES.set(0);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(generate(generator, Flaky.class)).isInstanceOf(Flaky.class);
+        }
+
+        assertThat(Flaky.FAILURES.get()).isEqualTo(16);
+    }
+
+    @Test
+    void shouldStopCallingConstructorThatAlwaysFailsInParallel() throws Exception {
+        try (var pool = new ForkJoinPool(4)) {
+            var options = GeneratorOptions.defaults().withForkJoinPool(pool);
+            var parallel = new Generator(streamProviders(), 3, marker, options);
+            Flaky.FAILURES.set(0);
+
+            assertThat(parallel.generateMany(Flaky.class, 1000).size()).isEqualTo(1000);
+
+            assertThat(Flaky.FAILURES.get()).isBetween(16, 16 + 4);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(AccessBackend.class)
+    void shouldAllocateWithoutConstructor(AccessBackend backend) {
+        var options = GeneratorOptions.defaults().withAccessBackend(backend);
+        var generator = new Generator(streamProviders(), 3, marker, options);
+
+        var guarded = (Guarded) generate(generator, Guarded.class);
+
+        assertThat(Guarded.CALLS.get()).isZero();
+        assertThat(guarded.name).isNotNull();
+        assertThat(guarded.product).isNotNull();
+    }
+
+    @Test
+    void shouldReportToListener() {
+        List<String> events = new ArrayList<>();
+        GenerationListener listener = new GenerationListener() {
+            @Override
+            public void onEnter(Class<?> type, int depth) {
+                events.add("enter " + type.getSimpleName() + " " + depth);
+            }
+
+            @Override
+            public void onConstructorChosen(Class<?> type, Constructor<?> constructor) {
+                events.add("constructor " + type.getSimpleName() + " " + constructor.getParameterCount());
+            }
+
+            @Override
+            public void onInterfaceResolved(Class<?> interfaceType, Class<?> implementation) {
+                events.add("resolved " + interfaceType.getSimpleName());
+            }
+        };
+        var options = GeneratorOptions.defaults().withListener(listener);
+        var generator = new Generator(streamProviders(), 3, marker, options);
+
+        generate(generator, Shape.class);
+
+        assertThat(events.getFirst()).isEqualTo("enter Shape 0");
+        assertThat(events.get(1)).isEqualTo("resolved Shape");
+        assertThat(events.get(2)).matches("enter (Rectangle|Triangle) 0");
+        assertThat(events.getLast()).matches("constructor (Rectangle|Triangle) \\d");
+        // nested primitives are reported at their own depth
+        assertThat(events.contains("enter double 1")).isTrue();
+        assertThat(events.contains("enter double 0")).isFalse();
+    }
+
+    @Test
+    void shouldGenerateConfiguredLengths() {
+        var options = GeneratorOptions.defaults().withLengths(100_000, 100_000);
+        var generator = new Generator(streamProviders(), 3, marker, options);
+
+        assertThat((byte[]) generate(generator, byte[].class)).hasSize(100_000);
+        assertThat((String[]) generate(generator, String[].class)).hasSize(100_000);
+
+        var emptyOnly = new Generator(streamProviders(), 3, marker, GeneratorOptions.defaults().withLengths(0, 0));
+        assertThat((long[]) generate(emptyOnly, long[].class)).isEmpty();
+        assertThat(((Cart) generate(emptyOnly, Cart.class)).getItems().size()).isZero();
+    }
+
+    @ParameterizedTest
+    @CsvSource({"-1, 5", "6, 5", "0, 2147483647"})
+    void shouldRejectInvalidLengths(int minLength, int maxLength) {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> GeneratorOptions.defaults().withLengths(minLength, maxLength)
+        );
+    }
+
+    @ParameterizedTest
+    @EnumSource(AccessBackend.class)
+    void shouldWritePrimitiveFieldsUnboxed(AccessBackend backend) {
+        TypeGeneratorsProvider provider = new TypeGeneratorsProvider() {
+            @Override
+            public Map<Class<?>, Supplier<?>> getGenerators() {
+                return Map.of();
+            }
+
+            @Override
+            public Map<Class<?>, PrimitiveGenerator> getPrimitiveGenerators() {
+                return Map.of(
+                        boolean.class, (PrimitiveGenerator.OfBoolean) r -> true,
+                        byte.class, (PrimitiveGenerator.OfByte) r -> 1,
+                        short.class, (PrimitiveGenerator.OfShort) r -> 2,
+                        char.class, (PrimitiveGenerator.OfChar) r -> 'c',
+                        int.class, (PrimitiveGenerator.OfInt) r -> 3,
+                        long.class, (PrimitiveGenerator.OfLong) r -> 4L,
+                        float.class, (PrimitiveGenerator.OfFloat) r -> 5f,
+                        double.class, (PrimitiveGenerator.OfDouble) r -> 6.0
+                );
+            }
+        };
+        var options = GeneratorOptions.defaults().withAccessBackend(backend);
+        var generator = new Generator(List.of(provider), 3, marker, options);
+
+        var primitives = (Primitives) generate(generator, Primitives.class);
+
+        assertThat(primitives.booleanValue).isTrue();
+        assertThat(primitives.byteValue).isEqualTo((byte) 1);
+        assertThat(primitives.shortValue).isEqualTo((short) 2);
+        assertThat(primitives.charValue).isEqualTo('c');
+        assertThat(primitives.intValue).isEqualTo(3);
+        assertThat(primitives.longValue).isEqualTo(4L);
+        assertThat(primitives.floatValue).isEqualTo(5f);
+        assertThat(primitives.doubleValue).isEqualTo(6.0);
+        assertThat((int[]) generate(generator, int[].class)).containsOnly(3);
+    }
+
+    @Test
+    void shouldRejectPrimitiveGeneratorOfOtherType() {
+        TypeGeneratorsProvider provider = new TypeGeneratorsProvider() {
+            @Override
+            public Map<Class<?>, Supplier<?>> getGenerators() {
+                return Map.of();
+            }
+
+            @Override
+            public Map<Class<?>, PrimitiveGenerator> getPrimitiveGenerators() {
+                return Map.of(long.class, (PrimitiveGenerator.OfInt) r -> 1);
+            }
+        };
+
+        var exception = assertThrows(IllegalArgumentException.class, () -> new Generator(List.of(provider), 1, marker));
+
+        assertThat(exception.getMessage()).isEqualTo("Primitive generator of int supplied for type: long");
+    }
+
+    private static List<TypeGeneratorsProvider> streamProviders() {
+        return List.of(new PrimitiveGeneratorsProvider(), new StringGeneratorsProvider(15));
+    }
+
+    private static String describe(BinaryTreeNode node) {
+        if (node == null) {
+            return "-";
+        }
+        return "(" + node.getData() + " " + describe(node.getLeft()) + " " + describe(node.getRight()) + ")";
+    }
+
+    private static String describe(Cart cart) {
+        StringBuilder sb = new StringBuilder();
+        for (Product product : cart.getItems()) {
+            sb.append(product.getName()).append(':').append(product.getPrice()).append(';');
+        }
+        return sb.toString();
+    }
+
     private Object generate(Class<?> clazz) {
         return generate(generator, clazz);
     }
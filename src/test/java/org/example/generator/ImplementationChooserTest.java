@@ -0,0 +1,64 @@
+package org.example.generator;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ImplementationChooserTest {
+
+    @Generatable
+    static class Plain {
+    }
+
+    @Generatable
+    static class AlsoPlain {
+    }
+
+    @Generatable(weight = 3)
+    static class Heavy {
+    }
+
+    @Generatable(weight = 0)
+    static class Weightless {
+    }
+
+    private static Map<Class<?>, Integer> draw(ImplementationChooser chooser, int times) {
+        Random random = new Random(42);
+        Map<Class<?>, Integer> counts = new HashMap<>();
+        for (int i = 0; i < times; i++) {
+            counts.merge(chooser.choose(random), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    @Test
+    void shouldBeEmptyWithoutImplementations() {
+        assertThat(ImplementationChooser.of(List.of()).isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldChooseUniformlyByDefault() {
+        var counts = draw(ImplementationChooser.of(List.of(Plain.class, AlsoPlain.class)), 40_000);
+
+        assertThat(counts.get(Plain.class) / 40_000.0).isCloseTo(0.5, within(0.02));
+    }
+
+    @Test
+    void shouldRespectWeights() {
+        var counts = draw(ImplementationChooser.of(List.of(Plain.class, Heavy.class, AlsoPlain.class)), 50_000);
+
+        assertThat(counts.get(Heavy.class) / 50_000.0).isCloseTo(0.6, within(0.02));
+        assertThat(counts.get(Plain.class) / 50_000.0).isCloseTo(0.2, within(0.02));
+        assertThat(counts.get(AlsoPlain.class) / 50_000.0).isCloseTo(0.2, within(0.02));
+    }
+
+    @Test
+    void shouldRejectNonPositiveWeights() {
+        assertThrows(IllegalArgumentException.class, () -> ImplementationChooser.of(List.of(Weightless.class)));
+    }
+}
@@ -4,11 +4,14 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Set;
 import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.annotation.AnnotationDescription;
 import net.bytebuddy.dynamic.DynamicType;
+import org.example.generator.scan.GeneratableIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -40,6 +43,16 @@ class PackageUtilsTest {
         }
     }
 
+    private void saveGeneratableClassUsingByteBuddy(String name) throws IOException {
+        try (DynamicType object = byteBuddy.subclass(Object.class)
+                .name(name)
+                .annotateType(AnnotationDescription.Builder.ofType(Generatable.class).build())
+                .make()
+        ) {
+            object.saveIn(tempDir.toFile());
+        }
+    }
+
     @Test
     void shouldFindAllImpl() throws IOException, URISyntaxException {
         try (var classLoader = new URLClassLoader(
@@ -60,4 +73,53 @@ class PackageUtilsTest {
             );
         }
     }
+
+    @Test
+    void shouldFindGeneratableClassesByScanningWithoutIndex() throws IOException, URISyntaxException {
+        saveGeneratableClassUsingByteBuddy(packageName + ".Generated1");
+        saveGeneratableClassUsingByteBuddy(packageName + ".utils.Generated2");
+
+        try (var classLoader = new TrackingClassLoader(tempUrl)) {
+            Set<Class<?>> result = PackageUtils.getGeneratableClassesInPackage(packageName, classLoader);
+
+            assertThat(result.stream().map(Class::getName).sorted().toList()).isEqualTo(List.of(
+                    packageName + ".Generated1",
+                    packageName + ".utils.Generated2"
+            ));
+            assertThat(classLoader.isLoaded(packageName + ".Service1")).isFalse();
+            assertThat(classLoader.isLoaded(packageName + ".utils.Helper")).isFalse();
+        }
+    }
+
+    @Test
+    void shouldLoadOnlyIndexedClassesWhenIndexPresent() throws IOException, URISyntaxException {
+        saveGeneratableClassUsingByteBuddy(packageName + ".Generated1");
+        saveGeneratableClassUsingByteBuddy(packageName + ".utils.Generated2");
+
+        Path index = tempDir.resolve(GeneratableIndex.LOCATION);
+        Files.createDirectories(index.getParent());
+        Files.writeString(index, packageName + ".Generated1\n" + "org.example.other.Generated3\n");
+
+        try (var classLoader = new URLClassLoader(
+                new URL[]{tempUrl},
+                Thread.currentThread().getContextClassLoader()
+        )
+        ) {
+            Set<Class<?>> result = PackageUtils.getGeneratableClassesInPackage(packageName, classLoader);
+
+            assertThat(result.size()).isEqualTo(1);
+            assertThat(result.iterator().next().getName()).isEqualTo(packageName + ".Generated1");
+        }
+    }
+
+    private static final class TrackingClassLoader extends URLClassLoader {
+
+        TrackingClassLoader(URL url) {
+            super(new URL[]{url}, Thread.currentThread().getContextClassLoader());
+        }
+
+        boolean isLoaded(String name) {
+            return findLoadedClass(name) != null;
+        }
+    }
 }
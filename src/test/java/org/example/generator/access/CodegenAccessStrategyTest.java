@@ -0,0 +1,75 @@
+package org.example.generator.access;
+
+import java.lang.reflect.InvocationTargetException;
+import org.example.classes.BinaryTreeNode;
+import org.example.classes.Example;
+import org.example.classes.Product;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CodegenAccessStrategyTest {
+
+    private final AccessStrategy strategy = new CodegenAccessStrategy();
+
+    @Test
+    void shouldCompileConstructorIntoHiddenClass() throws Exception {
+        var factory = strategy.factoryFor(Product.class.getConstructor(String.class, double.class));
+
+        var instance = factory.newInstance(new Object[]{"name", 42.0});
+
+        assertThat(instance).isInstanceOf(Product.class);
+        assertThat(((Product) instance).getName()).isEqualTo("name");
+        assertThat(((Product) instance).getPrice()).isEqualTo(42.0);
+    }
+
+    @Test
+    void shouldCompilePrivateFieldWriterIntoHiddenClass() throws Exception {
+        var field = BinaryTreeNode.class.getDeclaredField("data");
+        field.setAccessible(true);
+        var writer = strategy.writerFor(field);
+        var node = new BinaryTreeNode(1, null, null);
+
+        writer.set(node, 2);
+
+        assertThat(writer.getClass().isHidden()).isTrue();
+        assertThat(node.getData()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldCompilePrimitiveSetter() throws Exception {
+        var field = Example.class.getDeclaredField("i");
+        var writer = strategy.writerFor(field);
+        var example = new Example(1);
+
+        writer.setInt(example, 2);
+
+        assertThat(writer.getClass().getMethod("setInt", Object.class, int.class).getDeclaringClass())
+                .isEqualTo(writer.getClass());
+        assertThat(example.toString()).isEqualTo("Example(2)");
+    }
+
+    static class Throwing {
+        Throwing(String message) {
+            throw new NullPointerException(message);
+        }
+    }
+
+    @Test
+    void shouldWrapConstructorFailures() throws Exception {
+        var factory = strategy.factoryFor(Throwing.class.getDeclaredConstructor(String.class));
+
+        var ex = assertThrows(InvocationTargetException.class, () -> factory.newInstance(new Object[]{"thrown"}));
+
+        assertThat(ex.getCause().getMessage()).isEqualTo("thrown");
+    }
+
+    @Test
+    void shouldRejectArgumentsLikeReflection() throws Exception {
+        var factory = strategy.factoryFor(Product.class.getConstructor(String.class, double.class));
+
+        for (Object[] args : new Object[][]{{"name", null}, {"name", "42"}, {42, 42.0}, {"name"}}) {
+            assertThrows(IllegalArgumentException.class, () -> factory.newInstance(args));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.generator.access;
+
+import java.lang.reflect.InvocationTargetException;
+import org.example.classes.Product;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MethodHandleAccessStrategyTest {
+
+    private final AccessStrategy strategy = new MethodHandleAccessStrategy();
+
+    static class Throwing {
+        Throwing(String message) {
+            throw new NullPointerException(message);
+        }
+    }
+
+    @Test
+    void shouldInvokeConstructor() throws Exception {
+        var factory = strategy.factoryFor(Product.class.getConstructor(String.class, double.class));
+
+        var instance = (Product) factory.newInstance(new Object[]{"name", 42.0});
+
+        assertThat(instance.getName()).isEqualTo("name");
+        assertThat(instance.getPrice()).isEqualTo(42.0);
+    }
+
+    @Test
+    void shouldWrapOnlyWhatConstructorThrows() throws Exception {
+        var factory = strategy.factoryFor(Throwing.class.getDeclaredConstructor(String.class));
+
+        var ex = assertThrows(InvocationTargetException.class, () -> factory.newInstance(new Object[]{"thrown"}));
+
+        assertThat(ex.getCause()).isInstanceOf(NullPointerException.class);
+        assertThat(ex.getCause().getMessage()).isEqualTo("thrown");
+    }
+
+    @Test
+    void shouldRejectArgumentsLikeReflection() throws Exception {
+        var constructor = Product.class.getConstructor(String.class, double.class);
+        var factory = strategy.factoryFor(constructor);
+        var reflective = new ReflectionAccessStrategy().factoryFor(constructor);
+
+        for (Object[] args : new Object[][]{{"name", null}, {"name", "42"}, {42, 42.0}, {"name"}}) {
+            assertThrows(IllegalArgumentException.class, () -> reflective.newInstance(args));
+            assertThrows(IllegalArgumentException.class, () -> factory.newInstance(args));
+        }
+    }
+}
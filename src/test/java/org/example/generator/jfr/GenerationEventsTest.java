@@ -0,0 +1,136 @@
+package org.example.generator.jfr;
+
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.example.classes.BinaryTreeNode;
+import org.example.classes.Product;
+import org.example.classes.Shape;
+import org.example.classes.TestEnum;
+import org.example.generator.Generatable;
+import org.example.generator.GenerationException;
+import org.example.generator.Generator;
+import org.example.generator.GeneratorOptions;
+import org.example.generator.type.impl.PrimitiveGeneratorsProvider;
+import org.example.generator.type.impl.StringGeneratorsProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GenerationEventsTest {
+
+    @Generatable
+    static class Failing {
+        Failing() {
+            throw new IllegalStateException("always fails");
+        }
+    }
+
+    @TempDir
+    private Path tempDir;
+
+    private static Generator newGenerator() {
+        return new Generator(
+                List.of(new PrimitiveGeneratorsProvider(), new StringGeneratorsProvider(15)),
+                3,
+                TestEnum.ONE,
+                GeneratorOptions.defaults().withSeed(42)
+        );
+    }
+
+    /**
+     * The generator is created while recording, so its package scan is recorded too.
+     */
+    private List<RecordedEvent> record(Recording recording, Class<?> type) throws Exception {
+        recording.start();
+        var generator = newGenerator();
+        for (int i = 0; i < 10; i++) {
+            try {
+                generator.generateValueOfType(type);
+            } catch (GenerationException | InvocationTargetException e) {
+                // failures are recorded too
+            }
+        }
+        recording.stop();
+
+        Path file = tempDir.resolve("generation.jfr");
+        recording.dump(file);
+        return RecordingFile.readAllEvents(file);
+    }
+
+    /**
+     * Product has primitive parameters and Shape resolves to an implementation at its own depth, neither is reported
+     * as a generation of its own.
+     */
+    @ParameterizedTest
+    @ValueSource(classes = {BinaryTreeNode.class, Product.class, Shape.class})
+    void shouldRecordOnlyValuesAskedFor(Class<?> type) throws Exception {
+        try (var recording = new Recording()) {
+            recording.enable(GenerationEvent.class);
+            recording.enable(SlowSubtreeEvent.class).withThreshold(Duration.ZERO);
+
+            var events = record(recording, type);
+
+            var generations = ofType(events, "org.example.generator.Generation");
+            assertThat(generations).hasSize(10);
+            for (RecordedEvent generation : generations) {
+                assertThat(generation.getString("type")).isEqualTo(type.getName());
+                assertThat(generation.getLong("objects")).isGreaterThan(1);
+                assertThat(generation.getBoolean("failed")).isFalse();
+            }
+
+            var subtrees = ofType(events, "org.example.generator.SlowSubtree");
+            assertThat(subtrees).anyMatch(subtree -> subtree.getInt("depth") > 0);
+        }
+    }
+
+    @Test
+    void shouldRecordFailureOfOnlyConstructor() throws Exception {
+        try (var recording = new Recording()) {
+            recording.enable(ConstructorFailureEvent.class);
+            recording.enable(GenerationEvent.class);
+
+            var events = record(recording, Failing.class);
+
+            var failures = ofType(events, "org.example.generator.ConstructorFailure");
+            assertThat(failures).hasSize(10);
+            assertThat(failures.getFirst().getString("type")).isEqualTo(Failing.class.getName());
+            assertThat(failures.getFirst().getString("failure")).contains("InvocationTargetException");
+            assertThat(ofType(events, "org.example.generator.Generation"))
+                    .allMatch(generation -> generation.getBoolean("failed"));
+        }
+    }
+
+    @Test
+    void shouldRecordPackageScans() throws Exception {
+        try (var recording = new Recording()) {
+            recording.enable(PackageScanEvent.class);
+
+            var events = record(recording, BinaryTreeNode.class);
+
+            var scans = ofType(events, "org.example.generator.PackageScan");
+            assertThat(scans).hasSize(1);
+            assertThat(scans.getFirst().getString("packageName")).isEqualTo("org.example.classes");
+            assertThat(scans.getFirst().getInt("classes")).isPositive();
+        }
+    }
+
+    @Test
+    void shouldRecordNothingByDefault() throws Exception {
+        try (var recording = new Recording()) {
+            var events = record(recording, BinaryTreeNode.class);
+
+            assertThat(events).noneMatch(event -> event.getEventType().getName().startsWith("org.example.generator."));
+        }
+    }
+
+    private static List<RecordedEvent> ofType(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).toList();
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.generator.prefetch;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import org.example.classes.*;
+import org.example.generator.GenerationException;
+import org.example.generator.Generator;
+import org.example.generator.UncheckedGenerationException;
+import org.example.generator.type.impl.PrimitiveGeneratorsProvider;
+import org.example.generator.type.impl.StringGeneratorsProvider;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class PrefetchingGeneratorTest {
+
+    private final Generator generator = new Generator(
+            List.of(new PrimitiveGeneratorsProvider(), new StringGeneratorsProvider(15)),
+            4,
+            TestEnum.ONE
+    );
+
+    @Test
+    void shouldTakeValues() throws Exception {
+        try (var prefetching = new PrefetchingGenerator(generator, 2, 8)) {
+            for (int i = 0; i < 50; i++) {
+                assertThat(prefetching.take(Cart.class)).isInstanceOf(Cart.class);
+            }
+            assertThat(prefetching.hits() + prefetching.misses()).isEqualTo(50L);
+        }
+    }
+
+    @Test
+    void shouldServePrefetchedValuesWithoutWaiting() throws Exception {
+        try (var prefetching = new PrefetchingGenerator(generator, 4, 16)) {
+            prefetching.prefetch(Product.class);
+            awaitHit(prefetching, Product.class);
+
+            assertThat(prefetching.hits()).isEqualTo(1L);
+        }
+    }
+
+    @Test
+    void shouldCountMissesOnEmptyBuffer() throws Exception {
+        try (var prefetching = new PrefetchingGenerator(generator, 0, 1)) {
+            prefetching.close();
+
+            assertThat(prefetching.poll(Example.class)).isNull();
+            assertThat(prefetching.misses()).isEqualTo(1L);
+        }
+    }
+
+    @Test
+    void shouldGenerateInlineOnTakeAfterClose() throws Exception {
+        try (var prefetching = new PrefetchingGenerator(generator, 0, 1)) {
+            prefetching.close();
+
+            var value = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> prefetching.take(Example.class));
+
+            assertThat(value).isInstanceOf(Example.class);
+            assertThat(prefetching.misses()).isEqualTo(1L);
+        }
+    }
+
+    @Test
+    void shouldReleaseTakeWaitingWhileClosed() throws Exception {
+        try (var prefetching = new PrefetchingGenerator(generator, 0, 1)) {
+            var taken = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return prefetching.take(BinaryTreeNode.class);
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            });
+            prefetching.close();
+
+            assertThat(taken.get(10, TimeUnit.SECONDS)).isInstanceOf(BinaryTreeNode.class);
+        }
+    }
+
+    @Test
+    void shouldFailFastOnNonGeneratableType() {
+        try (var prefetching = new PrefetchingGenerator(generator, 1, 2)) {
+            assertThrows(GenerationException.class, () -> prefetching.poll(NonGeneratable.class));
+        }
+    }
+
+    @Test
+    void shouldHandOutBackgroundFailures() {
+        try (var prefetching = new PrefetchingGenerator(generator, 1, 2)) {
+            var ex = assertThrows(
+                    UncheckedGenerationException.class,
+                    () -> prefetching.take(InterfaceWithNoImpl.class)
+            );
+
+            assertThat(ex.getCause()).isInstanceOf(GenerationException.class);
+        }
+    }
+
+    @Test
+    void shouldValidateWatermarks() {
+        assertThrows(IllegalArgumentException.class, () -> new PrefetchingGenerator(generator, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new PrefetchingGenerator(generator, 4, 4));
+    }
+
+    private static void awaitHit(PrefetchingGenerator prefetching, Class<?> type) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (prefetching.poll(type) == null) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Buffer of " + type.getName() + " was not filled");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
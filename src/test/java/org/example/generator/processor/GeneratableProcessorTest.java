@@ -0,0 +1,218 @@
+package org.example.generator.processor;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import org.example.generator.scan.GeneratableIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeneratableProcessorTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void shouldGenerateClassGenerator() throws IOException {
+        var output = compile("kek.Item", """
+                package kek;
+
+                import java.util.List;
+                import org.example.generator.Generatable;
+
+                @Generatable
+                public class Item {
+                    int count;
+                    private List<String> tags;
+
+                    public Item(String name) {
+                    }
+
+                    public void setTags(List<String> tags) {
+                        this.tags = tags;
+                    }
+                }
+                """);
+
+        assertThat(output.success()).isTrue();
+        assertThat(output.generated("kek/ItemGenerator.java"))
+                .contains("var arg0 = (java.lang.String) context.generate(java.lang.String.class, depth + 1);")
+                .contains("instance = new kek.Item(arg0);")
+                .contains("instance.count = (int) context.generate(int.class, depth + 1);")
+                .contains("instance.setTags((java.util.List) context.generateCollection(" +
+                        "java.util.List.class, java.lang.String.class, depth));");
+    }
+
+    @Test
+    void shouldWrapOnlyWhatConstructorThrows() throws IOException {
+        var output = compile("kek.Checked", """
+                package kek;
+
+                import org.example.generator.Generatable;
+
+                @Generatable
+                public class Checked {
+                    public Checked(String name, int size) throws Exception {
+                    }
+                }
+                """);
+
+        assertThat(output.success()).isTrue();
+        assertThat(output.generated("kek/CheckedGenerator.java")).contains("""
+                        var arg0 = (java.lang.String) context.generate(java.lang.String.class, depth + 1);
+                        var arg1 = (int) context.generate(int.class, depth + 1);
+                        try {
+                            instance = new kek.Checked(arg0, arg1);
+                        } catch (Exception e) {
+                """);
+    }
+
+    @Test
+    void shouldNotReassignFieldsSetByConstructor() throws IOException {
+        var output = compile("kek.Box", """
+                package kek;
+
+                import java.util.List;
+                import org.example.generator.Generatable;
+
+                @Generatable
+                public class Box {
+                    private String label;
+                    private List<Integer> sizes;
+                    int weight;
+
+                    public Box(String label, List<Integer> sizes, int weight) {
+                        this.label = label;
+                        sizes = List.copyOf(sizes);
+                        this.sizes = sizes;
+                        this.weight = weight + 1;
+                    }
+
+                    public void setSizes(List<Integer> sizes) {
+                        this.sizes = sizes;
+                    }
+                }
+                """);
+
+        assertThat(output.success()).isTrue();
+        assertThat(output.generated("kek/BoxGenerator.java"))
+                .contains("context.generateCollection(java.util.List.class, java.lang.Integer.class, depth)")
+                .doesNotContain("instance.label")
+                .contains("instance.setSizes(")
+                .contains("instance.weight = ");
+    }
+
+    @Test
+    void shouldAssignFieldsSetConditionallyOrAgain() throws IOException {
+        var output = compile("kek.Crate", """
+                package kek;
+
+                import org.example.generator.Generatable;
+
+                @Generatable
+                public class Crate {
+                    public String first;
+                    public String second;
+                    public String third;
+
+                    public Crate(String first, String second, String third, boolean keep) {
+                        this.first = first;
+                        this.second = second;
+                        this.second = null;
+                        if (keep) {
+                            this.third = third;
+                        }
+                    }
+                }
+                """);
+
+        assertThat(output.success()).isTrue();
+        assertThat(output.generated("kek/CrateGenerator.java"))
+                .doesNotContain("instance.first")
+                .contains("instance.second = ")
+                .contains("instance.third = ");
+    }
+
+    @Test
+    void shouldGenerateInterfaceTable() throws IOException {
+        var output = compile("kek.Animal", """
+                package kek;
+
+                import org.example.generator.Generatable;
+
+                @Generatable
+                public interface Animal {
+                    @Generatable
+                    class Cat implements Animal {
+                    }
+
+                    @Generatable
+                    class Dog implements Animal {
+                    }
+                }
+                """);
+
+        assertThat(output.success()).isTrue();
+        assertThat(output.generated("kek/AnimalGenerator.java")).contains("kek.Animal.Cat.class", "kek.Animal.Dog.class");
+        assertThat(output.generated("kek/Animal_CatGenerator.java")).contains("new kek.Animal.Cat()");
+        assertThat(Files.readString(output.classes().resolve(GeneratableIndex.LOCATION)))
+                .isEqualTo("kek.Animal$Cat\nkek.Animal$Dog\n");
+    }
+
+    @Test
+    void shouldSkipUnreachableFields() throws IOException {
+        var output = compile("kek.Secret", """
+                package kek;
+
+                import org.example.generator.Generatable;
+
+                @Generatable
+                public class Secret {
+                    private int value;
+                }
+                """);
+
+        assertThat(output.success()).isTrue();
+        assertThat(Files.exists(output.sources().resolve("kek/SecretGenerator.java"))).isFalse();
+        assertThat(output.diagnostics()).contains("private field 'value' has no setter");
+    }
+
+    private CompilationOutput compile(String className, String source) throws IOException {
+        Path sourceFile = tempDir.resolve("src").resolve(className.replace('.', '/') + ".java");
+        Files.createDirectories(sourceFile.getParent());
+        Files.writeString(sourceFile, source);
+
+        Path classes = Files.createDirectories(tempDir.resolve("classes"));
+        Path sources = Files.createDirectories(tempDir.resolve("generated"));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StringWriter diagnostics = new StringWriter();
+        boolean success = compiler.getTask(
+                diagnostics,
+                null,
+                null,
+                List.of(
+                        "-classpath", System.getProperty("java.class.path"),
+                        "-processor", GeneratableProcessor.class.getName(),
+                        "-d", classes.toString(),
+                        "-s", sources.toString()
+                ),
+                null,
+                compiler.getStandardFileManager(null, null, null).getJavaFileObjects(sourceFile)
+        ).call();
+
+        return new CompilationOutput(success, classes, sources, diagnostics.toString());
+    }
+
+    private record CompilationOutput(boolean success, Path classes, Path sources, String diagnostics) {
+
+        String generated(String path) throws IOException {
+            return Files.readString(sources.resolve(path));
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.generator.scan;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.List;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import org.example.classes.NonGeneratable;
+import org.example.classes.Product;
+import org.example.classes.Rectangle;
+import org.example.classes.Shape;
+import org.example.generator.Generatable;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ClassFileParserTest {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Complex {
+        int[] numbers();
+
+        Retention nested();
+
+        RetentionPolicy policy();
+
+        Class<?> type();
+    }
+
+    @SuppressWarnings({"unused", "ParameterCanBeLocal"})
+    static class Tricky {
+        int a;
+        String b;
+        long c;
+        int d;
+        int[] e;
+
+        Tricky(int a, String b) {
+            a = a + 1;
+            this.a = a;
+            this.b = b != null ? b : "none";
+        }
+
+        Tricky(long c, int d, int[] e) {
+            this(0, null);
+            this.c = c;
+            this.d = d;
+            this.e = e;
+        }
+
+        Tricky(int a, boolean set) {
+            if (set) {
+                this.a = a;
+            }
+        }
+
+        Tricky(String b, long c) {
+            this.b = b;
+            this.c = c;
+            this.b = null;
+        }
+    }
+
+    @Test
+    void shouldReadClassHeader() throws IOException {
+        var info = ClassFileParser.parse(bytesOf(Rectangle.class));
+
+        assertThat(info.className()).isEqualTo(Rectangle.class.getName());
+        assertThat(info.superName()).isEqualTo(Object.class.getName());
+        assertThat(info.interfaces()).containsExactly(Shape.class.getName());
+        assertThat(info.isAnnotatedWith(Generatable.class.getName())).isTrue();
+        assertThat(info.isInterface()).isFalse();
+    }
+
+    @Test
+    void shouldReadInterfaces() throws IOException {
+        var info = ClassFileParser.parse(bytesOf(Shape.class));
+
+        assertThat(info.isInterface()).isTrue();
+        assertThat(info.isAbstract()).isTrue();
+        assertThat(info.isAnnotatedWith(Generatable.class.getName())).isTrue();
+    }
+
+    @Test
+    void shouldIgnoreClassesWithoutAnnotation() throws IOException {
+        var info = ClassFileParser.parse(bytesOf(NonGeneratable.class));
+
+        assertThat(info.annotations()).isEmpty();
+    }
+
+    @Test
+    void shouldSkipAnnotationElementValues() throws Exception {
+        var complex = AnnotationDescription.Builder.ofType(Complex.class)
+                .defineArray("numbers", 1, 2, 3)
+                .define("nested", Complex.class.getAnnotation(Retention.class))
+                .define("policy", RetentionPolicy.CLASS)
+                .define("type", String.class)
+                .build();
+
+        byte[] bytes;
+        try (var type = new ByteBuddy().subclass(Object.class)
+                .name("org.example.kek.Annotated")
+                .annotateType(complex, AnnotationDescription.Builder.ofType(Generatable.class).build())
+                .make()
+        ) {
+            bytes = type.getBytes();
+        }
+
+        var info = ClassFileParser.parse(bytes);
+
+        assertThat(info.className()).isEqualTo("org.example.kek.Annotated");
+        assertThat(List.copyOf(info.annotations())).containsExactlyInAnyOrder(
+                Complex.class.getName(),
+                Generatable.class.getName()
+        );
+    }
+
+    @Test
+    void shouldFindFieldsAssignedFromConstructorParameters() throws IOException {
+        var assignments = ClassFileParser.constructorAssignments(bytesOf(Product.class));
+
+        assertThat(assignments).containsOnlyKeys("(Ljava/lang/String;D)V", "(Ljava/lang/String;)V");
+        assertThat(assignments.get("(Ljava/lang/String;D)V")).containsExactlyInAnyOrder("name", "price");
+        assertThat(assignments.get("(Ljava/lang/String;)V")).containsExactly("name");
+    }
+
+    @Test
+    void shouldSkipAssignmentsOfChangedOrConditionalValues() throws IOException {
+        var assignments = ClassFileParser.constructorAssignments(bytesOf(Tricky.class));
+
+        assertThat(assignments.get("(ILjava/lang/String;)V")).isEmpty();
+        assertThat(assignments.get("(JI[I)V")).containsExactlyInAnyOrder("c", "d", "e");
+        assertThat(assignments.get("(IZ)V")).isEmpty();
+        assertThat(assignments.get("(Ljava/lang/String;J)V")).containsExactly("c");
+    }
+
+    @Test
+    void shouldRejectNonClassFiles() {
+        assertThrows(ClassFormatError.class, () -> ClassFileParser.parse(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}));
+        assertThrows(ClassFormatError.class, () -> ClassFileParser.parse(new byte[]{(byte) 0xCA, (byte) 0xFE}));
+    }
+
+    private static byte[] bytesOf(Class<?> clazz) throws IOException {
+        try (InputStream input = clazz.getResourceAsStream("/" + clazz.getName().replace('.', '/') + ".class")) {
+            return input.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package org.example.generator.scan;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import org.example.generator.Generatable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScanCacheTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private Path classes;
+    private Path cacheFile;
+    private URL packageUrl;
+
+    private final ByteBuddy byteBuddy = new ByteBuddy();
+    private final String packageName = "org.example.cached";
+
+    @BeforeEach
+    void setUp() throws IOException {
+        classes = tempDir.resolve("classes");
+        cacheFile = tempDir.resolve("scan.cache");
+
+        saveClass(packageName + ".First", true);
+        saveClass(packageName + ".sub.Second", false);
+
+        packageUrl = classes.resolve(packageName.replace('.', '/')).toUri().toURL();
+    }
+
+    private void saveClass(String name, boolean generatable) throws IOException {
+        DynamicType.Builder<Object> builder = byteBuddy.subclass(Object.class).name(name).implement(Runnable.class);
+        if (generatable) {
+            builder = builder.annotateType(AnnotationDescription.Builder.ofType(Generatable.class).build());
+        }
+        try (DynamicType type = builder.make()) {
+            type.saveIn(classes.toFile());
+        }
+    }
+
+    private List<ClassFileInfo> scan(ScanCache cache) throws IOException {
+        return cache.scan(List.of(packageUrl), packageName, ForkJoinPool.commonPool()).get(packageUrl);
+    }
+
+    @Test
+    void shouldScanOnFirstUse() throws IOException {
+        var result = scan(new ScanCache(cacheFile));
+
+        assertThat(result).extracting(ClassFileInfo::className)
+                .containsExactlyInAnyOrder(packageName + ".First", packageName + ".sub.Second");
+        assertThat(Files.exists(cacheFile)).isTrue();
+    }
+
+    @Test
+    void shouldReuseResultsFromFileWhileFingerprintMatches() throws IOException {
+        scan(new ScanCache(cacheFile));
+
+        // same size and modification time, but no longer a class file: only a cache hit can still see the class
+        Path first = classes.resolve(packageName.replace('.', '/')).resolve("First.class");
+        FileTime modified = Files.getLastModifiedTime(first);
+        Files.write(first, new byte[(int) Files.size(first)]);
+        Files.setLastModifiedTime(first, modified);
+
+        var result = scan(new ScanCache(cacheFile));
+
+        var cached = result.stream().filter(info -> info.className().endsWith(".First")).findFirst().orElseThrow();
+        assertThat(cached.isAnnotatedWith(Generatable.class.getName())).isTrue();
+        assertThat(cached.interfaces()).containsExactly(Runnable.class.getName());
+    }
+
+    @Test
+    void shouldRescanChangedDirectory() throws IOException {
+        var cache = new ScanCache(cacheFile);
+        scan(cache);
+
+        saveClass(packageName + ".sub.Third", true);
+
+        assertThat(scan(cache)).extracting(ClassFileInfo::className).contains(packageName + ".sub.Third");
+        assertThat(scan(new ScanCache(cacheFile))).hasSize(3);
+    }
+
+    @Test
+    void shouldKeepResultsInMemoryWithoutFile() throws IOException {
+        var cache = new ScanCache(null);
+
+        assertThat(scan(cache)).hasSize(2);
+        assertThat(scan(cache)).hasSize(2);
+    }
+
+    @Test
+    void shouldPersistScansOfConcurrentThreads() throws Exception {
+        int packagesPerThread = 30;
+        List<URL> urls = new ArrayList<>();
+        for (int i = 0; i < 2 * packagesPerThread; i++) {
+            saveClass(packageName + ".p" + i + ".Value", true);
+            urls.add(classes.resolve(packageName.replace('.', '/') + "/p" + i).toUri().toURL());
+        }
+        var cache = new ScanCache(cacheFile);
+
+        try (var executor = Executors.newFixedThreadPool(2)) {
+            List<Future<?>> scans = new ArrayList<>();
+            for (int thread = 0; thread < 2; thread++) {
+                int first = thread * packagesPerThread;
+                scans.add(executor.submit(() -> {
+                    for (int i = first; i < first + packagesPerThread; i++) {
+                        cache.scan(List.of(urls.get(i)), packageName + ".p" + i, ForkJoinPool.commonPool());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> scan : scans) {
+                scan.get();
+            }
+        }
+
+        assertThat(ScanCache.read(cacheFile)).hasSize(2 * packagesPerThread);
+    }
+
+    @Test
+    void shouldRoundTripFile() throws IOException {
+        var info = new ClassFileInfo(
+                "a.B",
+                0x0021,
+                null,
+                List.of("a.I", "a.J"),
+                Set.of(Generatable.class.getName())
+        );
+        var results = Map.of(
+                "file:/a/", new ScanCache.Result(42L, List.of(info)),
+                "file:/b/", new ScanCache.Result(-1L, List.of())
+        );
+
+        ScanCache.write(cacheFile, results);
+
+        assertThat(ScanCache.read(cacheFile)).isEqualTo(results);
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.generator.stats;
+
+import java.util.List;
+import org.example.classes.BinaryTreeNode;
+import org.example.classes.InterfaceWithNoImpl;
+import org.example.classes.Shape;
+import org.example.classes.TestEnum;
+import org.example.generator.GenerationException;
+import org.example.generator.Generator;
+import org.example.generator.GeneratorOptions;
+import org.example.generator.type.impl.PrimitiveGeneratorsProvider;
+import org.example.generator.type.impl.StringGeneratorsProvider;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GenerationStatsCollectorTest {
+
+    private final GenerationStatsCollector collector = new GenerationStatsCollector();
+
+    private final Generator generator = new Generator(
+            List.of(new PrimitiveGeneratorsProvider(), new StringGeneratorsProvider(15)),
+            3,
+            TestEnum.ONE,
+            GeneratorOptions.defaults().withSeed(42).withListener(collector)
+    );
+
+    @Test
+    void shouldCountValuesPerType() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            generator.generateValueOfType(BinaryTreeNode.class);
+        }
+
+        var stats = collector.snapshot();
+        var trees = stats.get(BinaryTreeNode.class);
+
+        assertThat(trees.generated()).isGreaterThanOrEqualTo(100);
+        assertThat(trees.cutOff()).isPositive();
+        assertThat(trees.maxDepth()).isEqualTo(4);
+        assertThat(trees.failed()).isZero();
+        assertThat(trees.latencies().totalCount()).isEqualTo(trees.generated());
+        // every node has its data, unless the data is cut off
+        var data = stats.get(Integer.class);
+        assertThat(data.generated() + data.cutOff()).isEqualTo(trees.generated());
+    }
+
+    @Test
+    void shouldCountImplementationsAndInterfaces() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            generator.generateValueOfType(Shape.class);
+        }
+
+        var stats = collector.snapshot();
+
+        assertThat(stats.get(Shape.class).generated()).isEqualTo(10);
+        assertThat(stats.keySet()).hasSizeGreaterThan(1);
+    }
+
+    @Test
+    void shouldCountFailures() {
+        assertThrows(GenerationException.class, () -> generator.generateValueOfType(InterfaceWithNoImpl.class));
+
+        assertThat(collector.snapshot().get(InterfaceWithNoImpl.class).failed()).isEqualTo(1);
+    }
+}
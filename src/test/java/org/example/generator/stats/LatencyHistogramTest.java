@@ -0,0 +1,55 @@
+package org.example.generator.stats;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LatencyHistogramTest {
+
+    @Test
+    void shouldKeepValuesWithinBucketPrecision() {
+        var random = new SplittableRandom(1);
+        for (int i = 0; i < 100_000; i++) {
+            long value = random.nextLong(Long.MAX_VALUE) >>> random.nextInt(63);
+            long highest = LatencyHistogram.highestValueOf(LatencyHistogram.bucketOf(value));
+
+            assertThat(highest).isGreaterThanOrEqualTo(value);
+            assertThat(highest - value).isLessThanOrEqualTo(value / 16);
+        }
+        int highestBucket = LatencyHistogram.bucketOf(Long.MAX_VALUE);
+        assertThat(LatencyHistogram.highestValueOf(highestBucket)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void shouldComputePercentiles() {
+        var histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        var snapshot = histogram.snapshot();
+
+        assertThat(snapshot.totalCount()).isEqualTo(1000);
+        assertThat(snapshot.valueAtPercentile(50)).isBetween(500_000L, 500_000L + 500_000L / 16);
+        assertThat(snapshot.valueAtPercentile(99)).isBetween(990_000L, 990_000L + 990_000L / 16);
+        assertThat(snapshot.max()).isBetween(1_000_000L, 1_000_000L + 1_000_000L / 16);
+    }
+
+    @Test
+    void shouldBeEmptyUntilRecorded() {
+        var snapshot = new LatencyHistogram().snapshot();
+
+        assertThat(snapshot.totalCount()).isZero();
+        assertThat(snapshot.valueAtPercentile(99)).isZero();
+        assertThat(snapshot.max()).isZero();
+    }
+
+    @Test
+    void shouldRejectInvalidPercentile() {
+        var snapshot = new LatencyHistogram().snapshot();
+
+        assertThrows(IllegalArgumentException.class, () -> snapshot.valueAtPercentile(101));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.valueAtPercentile(Double.NaN));
+    }
+}
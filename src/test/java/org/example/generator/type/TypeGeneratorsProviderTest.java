@@ -1,5 +1,7 @@
 package org.example.generator.type;
 
+import java.lang.reflect.Array;
+import java.util.SplittableRandom;
 import org.junit.jupiter.api.Test;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
@@ -23,6 +25,38 @@ public abstract class TypeGeneratorsProviderTest {
         }
     }
 
+    @Test
+    void randomGeneratorsShouldMatchClasses() {
+        var provider = getProvider();
+
+        var generators = provider.getRandomGenerators();
+
+        assertThat(generators.keySet()).isEqualTo(provider.getGenerators().keySet());
+        for (var classToGenerator : generators.entrySet()) {
+            var clazz = classToGenerator.getKey();
+            var instance = classToGenerator.getValue().apply(new SplittableRandom(42));
+
+            assertThat(instance).isInstanceOfAny(clazz, getPrimitiveType(clazz), getWrapperType(clazz));
+        }
+    }
+
+    @Test
+    void primitiveGeneratorsShouldMatchClasses() {
+        var generators = getProvider().getPrimitiveGenerators();
+
+        for (var classToGenerator : generators.entrySet()) {
+            var clazz = classToGenerator.getKey();
+            var generator = classToGenerator.getValue();
+
+            assertThat(generator.type()).isEqualTo(clazz);
+            assertThat(generator.generateBoxed(new SplittableRandom(42))).isInstanceOf(getWrapperType(clazz));
+
+            var array = generator.generateArray(new SplittableRandom(42), 13);
+            assertThat(array).isInstanceOf(clazz.arrayType());
+            assertThat(Array.getLength(array)).isEqualTo(13);
+        }
+    }
+
     private Class<?> getPrimitiveType(Class<?> wrapper) {
         return switch (wrapper.getSimpleName()) {
             case "java.lang.Integer" -> int.class;
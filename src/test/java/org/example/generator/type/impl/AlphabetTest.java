@@ -0,0 +1,46 @@
+package org.example.generator.type.impl;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AlphabetTest {
+
+    @Test
+    void shouldUseOnlyCharactersOfAlphabet() {
+        var string = Alphabet.of("xyz").generate(new SplittableRandom(1), 1000);
+
+        assertThat(string).hasSize(1000).matches("[xyz]+");
+    }
+
+    @Test
+    void shouldDrawCharactersUniformly() {
+        var string = Alphabet.LOWERCASE.generate(new SplittableRandom(2), 260_000);
+
+        for (char c = 'a'; c <= 'z'; c++) {
+            char expected = c;
+            long count = string.chars().filter(actual -> actual == expected).count();
+            assertThat(count / 260_000.0).isCloseTo(1 / 26.0, within(0.002));
+        }
+    }
+
+    @Test
+    void shouldSupportSingleCharacterAndFullLatin1() {
+        assertThat(Alphabet.of("a").generate(new SplittableRandom(3), 5)).isEqualTo("aaaaa");
+        assertThat(Alphabet.range('\0', 'ÿ').generate(new SplittableRandom(4), 100)).hasSize(100);
+    }
+
+    @Test
+    void shouldRejectNonLatin1Characters() {
+        assertThrows(IllegalArgumentException.class, () -> Alphabet.of("aж"));
+        assertThrows(IllegalArgumentException.class, () -> Alphabet.of(""));
+    }
+
+    @Test
+    void shouldRejectRangesBeyondLatin1() {
+        assertThrows(IllegalArgumentException.class, () -> Alphabet.range('a', '\u0100'));
+        assertThrows(IllegalArgumentException.class, () -> Alphabet.range('a', '\uffff'));
+    }
+}
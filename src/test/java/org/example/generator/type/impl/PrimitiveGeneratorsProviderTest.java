@@ -1,16 +1,39 @@
 package org.example.generator.type.impl;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 import org.example.generator.type.TypeGeneratorsProvider;
 import org.example.generator.type.TypeGeneratorsProviderTest;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
 
 class PrimitiveGeneratorsProviderTest extends TypeGeneratorsProviderTest {
 
-    private final Random random = new Random();
-    private final TypeGeneratorsProvider provider = new PrimitiveGeneratorsProvider(random);
+    private final TypeGeneratorsProvider provider = new PrimitiveGeneratorsProvider();
 
     @Override
     protected TypeGeneratorsProvider getProvider() {
         return provider;
     }
+
+    private Object fill(Class<?> type, int length) {
+        return provider.getPrimitiveGenerators().get(type).generateArray(new SplittableRandom(42), length);
+    }
+
+    @Test
+    void bulkFillsShouldKeepRangesOfSingleValues() {
+        var bytes = (byte[]) fill(byte.class, 1001);
+        var shorts = (short[]) fill(short.class, 1001);
+        for (int i = 0; i < 1001; i++) {
+            assertThat(bytes[i]).isNotNegative();
+            assertThat(shorts[i]).isNotNegative();
+        }
+        assertThat(bytes).contains(Byte.MAX_VALUE);
+        assertThat((boolean[]) fill(boolean.class, 1001)).contains(true, false);
+    }
+
+    @Test
+    void bulkFillsShouldFillOddLengths() {
+        assertThat((int[]) fill(int.class, 1001)).doesNotContain(0);
+        assertThat((char[]) fill(char.class, 1001)).doesNotContain('\0');
+    }
 }
@@ -1,6 +1,7 @@
 package org.example.generator.type.impl;
 
-import java.util.Random;
+import java.util.HashSet;
+import java.util.SplittableRandom;
 import org.example.generator.type.TypeGeneratorsProvider;
 import org.example.generator.type.TypeGeneratorsProviderTest;
 import org.junit.jupiter.api.Test;
@@ -8,8 +9,7 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 class StringGeneratorsProviderTest extends TypeGeneratorsProviderTest {
 
-    private final Random random = new Random();
-    private final TypeGeneratorsProvider provider = new StringGeneratorsProvider(random, 15);
+    private final TypeGeneratorsProvider provider = new StringGeneratorsProvider(15);
 
     @Override
     protected TypeGeneratorsProvider getProvider() {
@@ -23,4 +23,36 @@ class StringGeneratorsProviderTest extends TypeGeneratorsProviderTest {
         assertThat(generators.size()).isEqualTo(1);
         assertThat(generators.containsKey(String.class)).isTrue();
     }
+
+    @Test
+    void shouldGenerateLengthsOfDistribution() {
+        var generator = new StringGeneratorsProvider(Alphabet.ALPHANUMERIC, LengthDistribution.uniform(3, 5))
+                .getRandomGenerators()
+                .get(String.class);
+        var random = new SplittableRandom(5);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat((String) generator.apply(random)).matches("[0-9A-Za-z]{3,5}");
+        }
+    }
+
+    @Test
+    void shouldDrawFromCorpus() {
+        var corpusProvider = new StringGeneratorsProvider(Alphabet.LOWERCASE, LengthDistribution.geometric(6, 20))
+                .withCorpus(4, 42);
+        var generator = corpusProvider.getRandomGenerators().get(String.class);
+        var sameCorpus = new StringGeneratorsProvider(Alphabet.LOWERCASE, LengthDistribution.geometric(6, 20))
+                .withCorpus(4, 42)
+                .getRandomGenerators()
+                .get(String.class);
+        var random = new SplittableRandom(6);
+        var strings = new HashSet<Object>();
+
+        for (int i = 0; i < 100; i++) {
+            strings.add(generator.apply(random));
+        }
+
+        assertThat(strings.size()).isLessThanOrEqualTo(4);
+        assertThat(sameCorpus.apply(new SplittableRandom(7))).isEqualTo(generator.apply(new SplittableRandom(7)));
+    }
 }